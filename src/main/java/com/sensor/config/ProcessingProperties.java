@@ -0,0 +1,228 @@
+package com.sensor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tunables for the upload processing pipeline (prefix "sensor.processing")
+ */
+@Component
+@ConfigurationProperties(prefix = "sensor.processing")
+public class ProcessingProperties {
+
+    /**
+     * Number of worker threads processing uploads
+     */
+    private int workerThreads = 4;
+
+    /**
+     * Feed the upload stream straight into the parser instead of buffering it in memory
+     */
+    private boolean streamingEnabled = true;
+
+    /**
+     * Parser used for CSV uploads
+     */
+    private Parser parser = Parser.BYTE_TOKENIZER;
+
+    /**
+     * Directory used to spool uploads that cannot be processed immediately
+     */
+    private String spoolDir = System.getProperty("java.io.tmpdir");
+
+    /**
+     * How long spooled payloads are kept after processing so the upload can be replayed (0 = delete at once)
+     */
+    private Duration spoolRetention = Duration.ZERO;
+
+    /**
+     * Read buffer size used when streaming an upload into the parser
+     */
+    private int readBufferSize = 64 * 1024;
+
+    /**
+     * Longest CSV record or NDJSON line a parser buffers; longer ones are skipped and rejected
+     */
+    private DataSize maxRecordSize = DataSize.ofMegabytes(1);
+
+    /**
+     * Uploads at least this large are split into chunks parsed in parallel
+     */
+    private DataSize parallelThreshold = DataSize.ofMegabytes(32);
+
+    /**
+     * Target size of each chunk of a parallel parse
+     */
+    private DataSize chunkSize = DataSize.ofMegabytes(8);
+
+    /**
+     * Threads shared by all parallel parses
+     */
+    private int chunkParallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Uploads allowed to wait for a worker before new ones are rejected with 429
+     */
+    private int maxQueuedJobs = 64;
+
+    /**
+     * Total payload bytes allowed to wait for a worker before new uploads are rejected with 503
+     */
+    private DataSize maxQueuedBytes = DataSize.ofGigabytes(1);
+
+    /**
+     * Retry-After advertised to clients whose upload was rejected
+     */
+    private Duration retryAfter = Duration.ofSeconds(5);
+
+    /**
+     * Order in which queued uploads are handed to workers
+     */
+    private SchedulingPolicy schedulingPolicy = SchedulingPolicy.FAIR;
+
+    /**
+     * Bytes of upload credit a user earns per round of fair scheduling
+     */
+    private DataSize fairQuantum = DataSize.ofMegabytes(1);
+
+    /**
+     * Relative fair-scheduling weight per user (default 1)
+     */
+    private Map<String, Integer> userWeights = new HashMap<>();
+
+    /**
+     * Bytes per second of waiting credited against a job's size under SHORTEST_FIRST scheduling
+     */
+    private DataSize shortestFirstAging = DataSize.ofMegabytes(8);
+
+    /**
+     * How often a processing job refreshes its progress snapshot of partial statistics
+     */
+    private Duration progressInterval = Duration.ofMillis(250);
+
+    /**
+     * How long a job event stream stays open before the client has to reconnect
+     */
+    private Duration eventStreamTimeout = Duration.ofMinutes(30);
+
+    /**
+     * How long finished jobs and their results are kept; zero keeps them until evicted for space
+     */
+    private Duration jobTtl = Duration.ofHours(1);
+
+    /**
+     * Budget for the results retained by finished jobs; least recently used jobs are evicted beyond it
+     */
+    private DataSize maxRetainedBytes = DataSize.ofMegabytes(256);
+
+    /**
+     * Budget for rendered result bodies of completed jobs; least recently used ones are dropped beyond it
+     */
+    private DataSize resultCacheSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Completed results with at least this many series are streamed to the client instead of rendered and cached
+     */
+    private int streamResultsThreshold = 10_000;
+
+    /**
+     * Most upload ids accepted by one batch results request or one event stream
+     */
+    private int maxBatchSize = 10_000;
+
+    /**
+     * Threads rendering batch results and merging aggregate queries, separate from the parse threads
+     */
+    private int renderThreads = Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+
+    public int getWorkerThreads() { return workerThreads; }
+    public void setWorkerThreads(int workerThreads) { this.workerThreads = workerThreads; }
+
+    public boolean isStreamingEnabled() { return streamingEnabled; }
+    public void setStreamingEnabled(boolean streamingEnabled) { this.streamingEnabled = streamingEnabled; }
+
+    public Parser getParser() { return parser; }
+    public void setParser(Parser parser) { this.parser = parser; }
+
+    public String getSpoolDir() { return spoolDir; }
+    public void setSpoolDir(String spoolDir) { this.spoolDir = spoolDir; }
+
+    public Duration getSpoolRetention() { return spoolRetention; }
+    public void setSpoolRetention(Duration spoolRetention) { this.spoolRetention = spoolRetention; }
+
+    public int getReadBufferSize() { return readBufferSize; }
+    public void setReadBufferSize(int readBufferSize) { this.readBufferSize = readBufferSize; }
+
+    public DataSize getMaxRecordSize() { return maxRecordSize; }
+    public void setMaxRecordSize(DataSize maxRecordSize) { this.maxRecordSize = maxRecordSize; }
+
+    public DataSize getParallelThreshold() { return parallelThreshold; }
+    public void setParallelThreshold(DataSize parallelThreshold) { this.parallelThreshold = parallelThreshold; }
+
+    public DataSize getChunkSize() { return chunkSize; }
+    public void setChunkSize(DataSize chunkSize) { this.chunkSize = chunkSize; }
+
+    public int getChunkParallelism() { return chunkParallelism; }
+    public void setChunkParallelism(int chunkParallelism) { this.chunkParallelism = chunkParallelism; }
+
+    public int getMaxQueuedJobs() { return maxQueuedJobs; }
+    public void setMaxQueuedJobs(int maxQueuedJobs) { this.maxQueuedJobs = maxQueuedJobs; }
+
+    public DataSize getMaxQueuedBytes() { return maxQueuedBytes; }
+    public void setMaxQueuedBytes(DataSize maxQueuedBytes) { this.maxQueuedBytes = maxQueuedBytes; }
+
+    public Duration getRetryAfter() { return retryAfter; }
+    public void setRetryAfter(Duration retryAfter) { this.retryAfter = retryAfter; }
+
+    public SchedulingPolicy getSchedulingPolicy() { return schedulingPolicy; }
+    public void setSchedulingPolicy(SchedulingPolicy schedulingPolicy) { this.schedulingPolicy = schedulingPolicy; }
+
+    public DataSize getFairQuantum() { return fairQuantum; }
+    public void setFairQuantum(DataSize fairQuantum) { this.fairQuantum = fairQuantum; }
+
+    public Map<String, Integer> getUserWeights() { return userWeights; }
+    public void setUserWeights(Map<String, Integer> userWeights) { this.userWeights = userWeights; }
+
+    public DataSize getShortestFirstAging() { return shortestFirstAging; }
+    public void setShortestFirstAging(DataSize shortestFirstAging) { this.shortestFirstAging = shortestFirstAging; }
+
+    public Duration getProgressInterval() { return progressInterval; }
+    public void setProgressInterval(Duration progressInterval) { this.progressInterval = progressInterval; }
+
+    public Duration getEventStreamTimeout() { return eventStreamTimeout; }
+    public void setEventStreamTimeout(Duration eventStreamTimeout) { this.eventStreamTimeout = eventStreamTimeout; }
+
+    public Duration getJobTtl() { return jobTtl; }
+    public void setJobTtl(Duration jobTtl) { this.jobTtl = jobTtl; }
+
+    public DataSize getMaxRetainedBytes() { return maxRetainedBytes; }
+    public void setMaxRetainedBytes(DataSize maxRetainedBytes) { this.maxRetainedBytes = maxRetainedBytes; }
+
+    public DataSize getResultCacheSize() { return resultCacheSize; }
+    public void setResultCacheSize(DataSize resultCacheSize) { this.resultCacheSize = resultCacheSize; }
+
+    public int getStreamResultsThreshold() { return streamResultsThreshold; }
+    public void setStreamResultsThreshold(int streamResultsThreshold) { this.streamResultsThreshold = streamResultsThreshold; }
+
+    public int getMaxBatchSize() { return maxBatchSize; }
+    public void setMaxBatchSize(int maxBatchSize) { this.maxBatchSize = maxBatchSize; }
+
+    public int getRenderThreads() { return renderThreads; }
+    public void setRenderThreads(int renderThreads) { this.renderThreads = renderThreads; }
+
+    public enum Parser {COMMONS_CSV, BYTE_TOKENIZER}
+
+    public enum SchedulingPolicy {
+        /** Submission order */
+        FIFO,
+        /** Deficit round robin across users, weighted by upload bytes */
+        FAIR,
+        /** Smallest upload first, with aging so large uploads are not starved */
+        SHORTEST_FIRST
+    }
+}
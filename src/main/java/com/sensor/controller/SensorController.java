@@ -1,8 +1,15 @@
 package com.sensor.controller;
 
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.BatchResultsRequest;
+import com.sensor.dto.UploadJob;
 import com.sensor.dto.response.*;
+import com.sensor.exception.SeriesNotFoundException;
 import com.sensor.exception.UploadNotFoundException;
+import com.sensor.services.events.JobEventBus;
 import com.sensor.services.implementations.ProcessingService;
+import com.sensor.services.results.RenderedResult;
+import com.sensor.services.results.ResultBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,18 +19,32 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -35,9 +56,16 @@ public class SensorController {
     @Autowired
     private final ProcessingService processingService;
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final MediaType GZIP_TYPE = MediaType.parseMediaType("application/gzip");
+    private static final MediaType X_GZIP_TYPE = MediaType.parseMediaType("application/x-gzip");
+
+    private final ProcessingProperties processingProperties;
+
     @Autowired
-    public SensorController(ProcessingService processingService) {
+    public SensorController(ProcessingService processingService, ProcessingProperties processingProperties) {
         this.processingService = processingService;
+        this.processingProperties = processingProperties;
     }
 
     @Operation(
@@ -97,6 +125,9 @@ public class SensorController {
     @Operation(
             summary = "Upload Sensor Data CSV",
             description = "Upload a CSV file containing sensor data for asynchronous processing. " +
+                    "Gzip-compressed files are accepted as .csv.gz, as a part of type application/gzip, " +
+                    "or recognised by their gzip signature, " +
+                    "and are decompressed while parsing. " +
                     "Returns immediately with an upload ID that can be used to query results later."
     )
     @ApiResponses(value = {
@@ -124,6 +155,14 @@ public class SensorController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "413",
                     description = "Payload too large - File exceeds 100MB limit"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "429",
+                    description = "Too many uploads queued - retry after the Retry-After header"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "Queued uploads exceed the byte budget - retry after the Retry-After header"
             )
     })
     @PostMapping(value = "/upload",
@@ -132,7 +171,10 @@ public class SensorController {
     @PreAuthorize("hasAuthority('ROLE_USER')")
     public ResponseEntity<com.sensor.dto.response.ApiResponse<UploadResponse>> uploadData(
             @Parameter(description = "CSV file containing sensor data with columns: timestamp_ms, device_id, channel, value", required = true)
-            @RequestParam("file") MultipartFile file) {
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Scheduling priority while queued (LOW, NORMAL, HIGH)")
+            @RequestParam(defaultValue = "NORMAL") UploadJob.Priority priority,
+            @Parameter(hidden = true) Principal principal) {
 
         if (file.isEmpty()) {
             return ResponseEntity.badRequest().body(
@@ -140,14 +182,90 @@ public class SensorController {
             );
         }
 
-        if (!file.getOriginalFilename().endsWith(".csv")) {
+        String filename = file.getOriginalFilename();
+        if (!filename.endsWith(".csv") && !filename.endsWith(".csv.gz")) {
+            return ResponseEntity.badRequest().body(
+                    com.sensor.dto.response.ApiResponse.error("Only CSV files (.csv or .csv.gz) are allowed", "INVALID_FILE_TYPE")
+            );
+        }
+
+        try {
+            boolean gzipped = isGzipped(file);
+            String uploadId = processingService.submitUpload(file.getInputStream(), file.getSize(), gzipped,
+                    UploadJob.PayloadFormat.CSV, owner(principal), priority);
+            UploadResponse response = new UploadResponse(
+                    uploadId,
+                    "Upload accepted for processing",
+                    file.getOriginalFilename(),
+                    file.getSize()
+            );
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(
+                    com.sensor.dto.response.ApiResponse.success(response, "File uploaded successfully")
+            );
+
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                    com.sensor.dto.response.ApiResponse.error("Failed to read file: " + e.getMessage(), "IO_ERROR")
+            );
+        }
+    }
+
+    @Operation(
+            summary = "Upload Binary Sensor Batch",
+            description = "Upload sensor data in the compact binary batch format (magic \"SNB1\", device and channel " +
+                    "dictionaries, then 24-byte records: i64 timestamp_ms, u32 device index, u32 channel index, f64 value; " +
+                    "big-endian). Processed and queried exactly like CSV uploads. " +
+                    "Send Content-Encoding: gzip for a gzip-compressed batch."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "202",
+                    description = "Batch accepted for processing",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = UploadResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Bad request - Empty file"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - User role required"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "429",
+                    description = "Too many uploads queued - retry after the Retry-After header"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "Queued uploads exceed the byte budget - retry after the Retry-After header"
+            )
+    })
+    @PostMapping(value = "/upload/binary",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity<com.sensor.dto.response.ApiResponse<UploadResponse>> uploadBinary(
+            @Parameter(description = "Binary sensor batch produced by SensorBatchEncoder", required = true)
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "Set to gzip when the batch is gzip-compressed")
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            @Parameter(description = "Scheduling priority while queued (LOW, NORMAL, HIGH)")
+            @RequestParam(defaultValue = "NORMAL") UploadJob.Priority priority,
+            @Parameter(hidden = true) Principal principal) {
+
+        if (file.isEmpty()) {
             return ResponseEntity.badRequest().body(
-                    com.sensor.dto.response.ApiResponse.error("Only CSV files are allowed", "INVALID_FILE_TYPE")
+                    com.sensor.dto.response.ApiResponse.error("File is empty", "EMPTY_FILE")
             );
         }
 
         try {
-            String uploadId = processingService.submitUpload(file.getInputStream());
+            String uploadId = processingService.submitUpload(file.getInputStream(), file.getSize(),
+                    "gzip".equalsIgnoreCase(contentEncoding), UploadJob.PayloadFormat.BINARY, owner(principal), priority);
             UploadResponse response = new UploadResponse(
                     uploadId,
                     "Upload accepted for processing",
@@ -166,11 +284,147 @@ public class SensorController {
         }
     }
 
+    @Operation(
+            summary = "Open Sample Stream",
+            description = "Create a stream job for continuous ingestion. Samples are appended with " +
+                    "POST /streams/{uploadId}; statistics are available from /results/{uploadId} while the " +
+                    "stream is open and become final when it is closed."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "201",
+                    description = "Stream opened",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = UploadResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - User role required"
+            )
+    })
+    @PostMapping(value = "/streams", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity<com.sensor.dto.response.ApiResponse<UploadResponse>> openStream(
+            @Parameter(hidden = true) Principal principal) {
+        String uploadId = processingService.openStream(owner(principal));
+        return ResponseEntity.status(HttpStatus.CREATED).body(
+                com.sensor.dto.response.ApiResponse.success(
+                        new UploadResponse(uploadId, "Stream open for appending"),
+                        "Stream opened successfully")
+        );
+    }
+
+    @Operation(
+            summary = "Append To Sample Stream",
+            description = "Append samples to an open stream job from a long-lived (typically chunked) request body. " +
+                    "text/csv bodies hold one sample per line, with an optional timestamp_ms,device_id,channel,value header; " +
+                    "application/x-ndjson bodies hold one JSON object per line with the same field names; " +
+                    "application/octet-stream bodies use the binary sensor batch format. " +
+                    "Samples become visible in the results as they arrive. Several connections may append to one stream."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Body consumed; returns the counts for this connection"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "The job is not an open stream"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Upload ID not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "410",
+                    description = "Upload has expired and its results were evicted"
+            )
+    })
+    @PostMapping(value = "/streams/{uploadId}",
+            consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE},
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity<com.sensor.dto.response.ApiResponse<Map<String, Object>>> appendToStream(
+            @Parameter(description = "Stream ID returned when the stream was opened", required = true)
+            @PathVariable String uploadId,
+            HttpServletRequest request) {
+
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        UploadJob.PayloadFormat format = MediaType.APPLICATION_NDJSON.includes(contentType)
+                ? UploadJob.PayloadFormat.NDJSON
+                : MediaType.APPLICATION_OCTET_STREAM.includes(contentType)
+                ? UploadJob.PayloadFormat.BINARY
+                : UploadJob.PayloadFormat.CSV;
+
+        try {
+            Map<String, Object> counts = processingService.appendToStream(uploadId, request.getInputStream(), format);
+
+            if (counts == null) {
+                throw new UploadNotFoundException("Upload ID not found: " + uploadId);
+            }
+
+            return ResponseEntity.ok(
+                    com.sensor.dto.response.ApiResponse.success(counts, "Stream data appended successfully")
+            );
+
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                    com.sensor.dto.response.ApiResponse.error("Failed to read stream: " + e.getMessage(), "IO_ERROR")
+            );
+        }
+    }
+
+    @Operation(
+            summary = "Close Sample Stream",
+            description = "Close a stream job. Its status becomes COMPLETED and its statistics final."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Stream closed"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "The job is not an open stream"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Upload ID not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "410",
+                    description = "Upload has expired and its results were evicted"
+            )
+    })
+    @PostMapping(value = "/streams/{uploadId}/close", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity<com.sensor.dto.response.ApiResponse<String>> closeStream(
+            @Parameter(description = "Stream ID to close", required = true)
+            @PathVariable String uploadId) {
+
+        if (!processingService.closeStream(uploadId)) {
+            throw new UploadNotFoundException("Upload ID not found: " + uploadId);
+        }
+
+        return ResponseEntity.ok(
+                com.sensor.dto.response.ApiResponse.success("Stream closed", "Stream closed successfully")
+        );
+    }
+
     @Operation(
             summary = "Get Processing Results",
             description = "Retrieve processing results for a specific upload. Results include statistics " +
                     "(count, min, max, average, stddev) per device/channel combination. " +
-                    "Can optionally filter by device ID and/or channel."
+                    "Can optionally filter by device ID and/or channel; each filter takes several values " +
+                    "(comma-separated or repeated) and a value ending in '*' matches by prefix. " +
+                    "While the upload is PROCESSING, " +
+                    "statistics are a periodically refreshed partial snapshot and progress reports bytes " +
+                    "processed, rows/sec and the estimated completion. Results of COMPLETED uploads are " +
+                    "written straight from the stored statistics and their timestamp is the upload's end time. " +
+                    "Smaller ones are rendered once and cached; they carry an ETag (If-None-Match answers 304) " +
+                    "and are gzip-encoded when the client accepts it. Very large ones are streamed as they are written."
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -181,20 +435,39 @@ public class SensorController {
                             schema = @Schema(implementation = ResultResponse.class)
                     )
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Completed results unchanged since the ETag sent in If-None-Match"
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Upload ID not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "410",
+                    description = "Upload has expired and its results were evicted"
             )
     })
     @GetMapping(value = "/results/{uploadId}", produces = MediaType.APPLICATION_JSON_VALUE)
     @PreAuthorize("hasAuthority('ROLE_USER')")
-    public ResponseEntity<com.sensor.dto.response.ApiResponse<ResultResponse>> getResults(
+    public ResponseEntity<?> getResults(
             @Parameter(description = "Unique upload identifier returned from upload endpoint", required = true)
             @PathVariable String uploadId,
-            @Parameter(description = "Optional filter by device ID (e.g., sensor_001)")
-            @RequestParam(required = false) String deviceId,
-            @Parameter(description = "Optional filter by channel (e.g., acc_x, temp)")
-            @RequestParam(required = false) String channel) {
+            @Parameter(description = "Optional filter by device IDs or prefixes (e.g., sensor_001,sensor_01*)")
+            @RequestParam(required = false) List<String> deviceId,
+            @Parameter(description = "Optional filter by channels or prefixes (e.g., temp,acc_*)")
+            @RequestParam(required = false) List<String> channel,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        ResultBody body = processingService.getResultBody(uploadId, deviceId, channel);
+        if (body instanceof RenderedResult rendered) {
+            return renderedResponse(rendered, ifNoneMatch, acceptEncoding);
+        }
+        if (body != null) {
+            StreamingResponseBody streamed = body::writeTo;
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(streamed);
+        }
 
         ResultResponse response = processingService.getResults(uploadId, deviceId, channel);
 
@@ -207,6 +480,36 @@ public class SensorController {
         );
     }
 
+    @Operation(
+            summary = "Get Results for Many Uploads",
+            description = "Retrieve the results of many uploads in one request. The body lists the upload ids " +
+                    "and optional deviceIds/channels filters (same selectors as the single-upload endpoint) applied " +
+                    "to each. Data holds one element per id, in request order: the upload's results, or " +
+                    "uploadId, errorCode (UPLOAD_NOT_FOUND or UPLOAD_EXPIRED) and errorMessage when it cannot be " +
+                    "resolved. Uploads are resolved in parallel and the response is streamed as they are written."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Batch results retrieved; unresolved ids carry a per-upload error",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "No upload ids, or more than the configured batch size"
+            )
+    })
+    @PostMapping(value = "/results/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity<StreamingResponseBody> getBatchResults(@RequestBody BatchResultsRequest request) {
+        ResultBody body = processingService.getBatchResults(
+                request.getUploadIds(), request.getDeviceIds(), request.getChannels());
+        StreamingResponseBody streamed = body::writeTo;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(streamed);
+    }
+
     @Operation(
             summary = "Get Results Summary",
             description = "Get a quick summary of processing results without detailed statistics. " +
@@ -220,6 +523,10 @@ public class SensorController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Upload ID not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "410",
+                    description = "Upload has expired and its results were evicted"
             )
     })
     @GetMapping(value = "/results/{uploadId}/summary", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -253,41 +560,217 @@ public class SensorController {
     }
 
     @Operation(
-            summary = "List All Jobs",
-            description = "List all processing jobs with optional status filter. " +
-                    "Status can be: PENDING, PROCESSING, COMPLETED, or FAILED"
+            summary = "Subscribe To Job Events",
+            description = "Server-sent events for one or more uploads, instead of polling results. " +
+                    "Each job first sends a \"status\" event with its current state, then one per status " +
+                    "transition and a \"progress\" event every few hundred milliseconds while it is PROCESSING. " +
+                    "The stream ends once every job is COMPLETED, FAILED or CANCELLED, or with an \"overflow\" " +
+                    "event if the client fell so far behind that events were dropped; resubscribe to continue."
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "200",
-                    description = "Jobs list retrieved successfully"
+                    description = "Event stream opened"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "More upload IDs than one event stream accepts"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Upload ID not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "410",
+                    description = "Upload has expired and its results were evicted"
             )
     })
-    @GetMapping(value = "/jobs", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     @PreAuthorize("hasAuthority('ROLE_USER')")
-    public ResponseEntity<com.sensor.dto.response.ApiResponse<List<Map<String, Object>>>> listJobs(
-            @Parameter(description = "Filter by job status (PENDING, PROCESSING, COMPLETED, FAILED)")
-            @RequestParam(required = false) String status) {
+    public SseEmitter jobEvents(
+            @Parameter(description = "Upload IDs to follow, comma separated", required = true)
+            @RequestParam List<String> uploadIds) {
+
+        // async request: no servlet thread is held while the stream is idle
+        SseEmitter emitter = new SseEmitter(processingProperties.getEventStreamTimeout().toMillis());
+        Set<String> open = new LinkedHashSet<>(uploadIds);
+        JobEventBus.Subscription[] subscription = new JobEventBus.Subscription[1];
+        subscription[0] = processingService.subscribe(List.copyOf(open), event -> {
+            if (!open.contains(event.getUploadId())) return; // already sent its final status
+            try {
+                emitter.send(SseEmitter.event()
+                        .name(event.getType().toString().toLowerCase())
+                        .data(event, MediaType.APPLICATION_JSON));
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+                throw new UncheckedIOException(e);
+            }
+            if (event.isFinal() && open.remove(event.getUploadId()) && open.isEmpty()) {
+                emitter.complete();
+            }
+        }, () -> {
+            // events were dropped, so the stream can no longer be trusted: tell the client to resubscribe
+            try {
+                emitter.send(SseEmitter.event().name("overflow").data("Events were dropped; resubscribe"));
+                emitter.complete();
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        });
+
+        if (subscription[0] == null) {
+            throw new UploadNotFoundException("Upload ID not found: " + String.join(",", uploadIds));
+        }
+        emitter.onCompletion(() -> subscription[0].close());
+        emitter.onTimeout(() -> subscription[0].close());
+        emitter.onError(e -> subscription[0].close());
+        return emitter;
+    }
 
-        List<Map<String, Object>> jobs = processingService.listJobs(status);
+    @Operation(
+            summary = "List Jobs",
+            description = "List processing jobs newest first, one page at a time, with optional status and owner " +
+                    "filters. Status can be: PENDING, PROCESSING, COMPLETED, FAILED, or CANCELLED. " +
+                    "Pass the returned nextCursor as \"after\" to get the next page; it is null on the last page."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Jobs page retrieved successfully"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Unknown status or invalid cursor"
+            )
+    })
+    @GetMapping(value = "/jobs", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity<com.sensor.dto.response.ApiResponse<JobPage>> listJobs(
+            @Parameter(description = "Filter by job status (PENDING, PROCESSING, COMPLETED, FAILED, CANCELLED)")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Filter by the user who submitted the jobs")
+            @RequestParam(required = false) String owner,
+            @Parameter(description = "Maximum number of jobs to return (1-1000)")
+            @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page")
+            @RequestParam(required = false) String after) {
+
+        JobPage jobs = processingService.listJobs(status, owner, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE), after);
 
         return ResponseEntity.ok(
                 com.sensor.dto.response.ApiResponse.success(jobs, "Jobs list retrieved successfully")
         );
     }
 
+    @Operation(
+            summary = "Aggregate Across Uploads",
+            description = "Merge the statistics of every upload matching the job filters into one aggregate per " +
+                    "device, channel or device/channel series. Jobs are filtered by submission time " +
+                    "[from, to] (both inclusive), owner and status (COMPLETED by default; PROCESSING uploads contribute their latest statistics). " +
+                    "deviceId and channel take the same selectors as the results endpoint. The per-job statistics " +
+                    "are merged in parallel, with the same count-weighted formulas used within an upload."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Aggregates computed successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = AggregateResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Unknown status or group by, or a malformed time"
+            )
+    })
+    @GetMapping(value = "/aggregate", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity<com.sensor.dto.response.ApiResponse<AggregateResponse>> aggregate(
+            @Parameter(description = "DEVICE, CHANNEL or DEVICE_CHANNEL (default)")
+            @RequestParam(required = false) String groupBy,
+            @Parameter(description = "Only uploads submitted at or after this time (e.g., 2026-10-10T00:00:00)")
+            @RequestParam(required = false) String from,
+            @Parameter(description = "Only uploads submitted at or before this time")
+            @RequestParam(required = false) String to,
+            @Parameter(description = "Only uploads submitted by this user")
+            @RequestParam(required = false) String owner,
+            @Parameter(description = "Only uploads in this status (default COMPLETED)")
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Optional filter by device IDs or prefixes (e.g., sensor_001,sensor_01*)")
+            @RequestParam(required = false) List<String> deviceId,
+            @Parameter(description = "Optional filter by channels or prefixes (e.g., temp,acc_*)")
+            @RequestParam(required = false) List<String> channel) {
+
+        AggregateResponse response = processingService.aggregate(groupBy,
+                parseTime("from", from), parseTime("to", to), owner, status, deviceId, channel);
+
+        return ResponseEntity.ok(
+                com.sensor.dto.response.ApiResponse.success(response, "Aggregates computed successfully")
+        );
+    }
+
+    @Operation(
+            summary = "Get Series Rollup",
+            description = "All-time and since-midnight statistics of one device/channel series across every " +
+                    "completed upload, including uploads that have since expired or been deleted. " +
+                    "sinceMidnight covers uploads completed since local midnight and is null when there were none."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Rollup retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = SeriesRollup.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "No completed upload has had this series"
+            )
+    })
+    @GetMapping(value = "/rollups/{deviceId}/{channel}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity<com.sensor.dto.response.ApiResponse<SeriesRollup>> getRollup(
+            @Parameter(description = "Device ID (e.g., sensor_001)", required = true)
+            @PathVariable String deviceId,
+            @Parameter(description = "Channel (e.g., temp)", required = true)
+            @PathVariable String channel) {
+
+        SeriesRollup rollup = processingService.getRollup(deviceId, channel);
+
+        if (rollup == null) {
+            throw new SeriesNotFoundException("Series not found: " + deviceId + "/" + channel);
+        }
+
+        return ResponseEntity.ok(
+                com.sensor.dto.response.ApiResponse.success(rollup, "Rollup retrieved successfully")
+        );
+    }
+
     @Operation(
             summary = "Delete Job",
-            description = "Delete a processing job from the system. This removes all associated data and statistics."
+            description = "Delete a processing job from the system. This removes all associated data and statistics. " +
+                    "A queued or running job (or an open stream) is cancelled instead: it stops within a bounded number " +
+                    "of rows and ends in the CANCELLED state, after which it can be deleted."
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "200",
                     description = "Job deleted successfully"
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "202",
+                    description = "Job was active; cancellation requested"
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Upload ID not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "410",
+                    description = "Upload has expired and its results were evicted"
             )
     })
     @DeleteMapping(value = "/jobs/{uploadId}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -296,9 +779,19 @@ public class SensorController {
             @Parameter(description = "Upload ID to delete", required = true)
             @PathVariable String uploadId) {
 
-        boolean deleted = processingService.deleteJob(uploadId);
+        Boolean cancelled = processingService.cancelJob(uploadId);
 
-        if (!deleted) {
+        if (cancelled == null) {
+            throw new UploadNotFoundException("Upload ID not found: " + uploadId);
+        }
+
+        if (cancelled) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(
+                    com.sensor.dto.response.ApiResponse.success("Job cancellation requested", "Job is being cancelled")
+            );
+        }
+
+        if (!processingService.deleteJob(uploadId)) {
             throw new UploadNotFoundException("Upload ID not found: " + uploadId);
         }
 
@@ -307,6 +800,55 @@ public class SensorController {
         );
     }
 
+    @Operation(
+            summary = "Replay Upload",
+            description = "Process a finished upload again from its retained spool file under a new upload ID. " +
+                    "Only available while the payload is within sensor.processing.spool-retention."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "202",
+                    description = "Replay accepted for processing"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Payload is no longer retained or the job is still running"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Upload ID not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "410",
+                    description = "Upload has expired and its results were evicted"
+            )
+    })
+    @PostMapping(value = "/jobs/{uploadId}/replay", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAuthority('ROLE_USER')")
+    public ResponseEntity<com.sensor.dto.response.ApiResponse<UploadResponse>> replayJob(
+            @Parameter(description = "Upload ID to replay", required = true)
+            @PathVariable String uploadId) {
+
+        try {
+            String replayId = processingService.replayUpload(uploadId);
+
+            if (replayId == null) {
+                throw new UploadNotFoundException("Upload ID not found: " + uploadId);
+            }
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(
+                    com.sensor.dto.response.ApiResponse.success(
+                            new UploadResponse(replayId, "Replay accepted for processing"),
+                            "Upload replay started")
+            );
+
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                    com.sensor.dto.response.ApiResponse.error("Failed to replay upload: " + e.getMessage(), "IO_ERROR")
+            );
+        }
+    }
+
     @Operation(
             summary = "Get Job Details",
             description = "Get detailed information about a specific job including device count, channel count, and processing times"
@@ -319,6 +861,10 @@ public class SensorController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Upload ID not found"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "410",
+                    description = "Upload has expired and its results were evicted"
             )
     })
     @GetMapping(value = "/jobs/{uploadId}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -337,4 +883,99 @@ public class SensorController {
                 com.sensor.dto.response.ApiResponse.success(jobInfo, "Job information retrieved successfully")
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * An optional ISO local date-time parameter; malformed values are a bad request
+     */
+    private static LocalDateTime parseTime(String name, String value) {
+        if (value == null) return null;
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + name + " time: " + value);
+        }
+    }
+
+    /**
+     * Whether a multipart file is gzip-compressed, judged from the part itself: its name, its
+     * Content-Type, or the gzip magic bytes. A request-level Content-Encoding applies to the whole
+     * multipart body and is the container's to decode, so it says nothing about the part.
+     */
+    private static boolean isGzipped(MultipartFile file) throws IOException {
+        String filename = file.getOriginalFilename();
+        if (filename != null && filename.endsWith(".gz")) return true;
+        String contentType = file.getContentType();
+        if (contentType != null) {
+            try {
+                MediaType type = MediaType.parseMediaType(contentType);
+                if (GZIP_TYPE.equalsTypeAndSubtype(type) || X_GZIP_TYPE.equalsTypeAndSubtype(type)) return true;
+            } catch (InvalidMediaTypeException e) {
+                // fall back to sniffing the content
+            }
+        }
+        try (InputStream in = file.getInputStream()) {
+            byte[] magic = in.readNBytes(2);
+            return magic.length == 2 && (magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b;
+        }
+    }
+
+    /**
+     * Name of the authenticated user (the JWT subject) that owns an upload
+     */
+    private String owner(Principal principal) {
+        return principal != null ? principal.getName() : null;
+    }
+
+    /**
+     * Whether an Accept-Encoding header admits gzip: a gzip coding, or failing that a wildcard,
+     * with a non-zero quality. An absent header admits only the identity encoding here.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        Double gzip = null;
+        Double wildcard = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] params = element.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.length() > 2 && param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0; // a malformed weight accepts nothing
+                    }
+                }
+            }
+            if (coding.equals("gzip")) gzip = quality;
+            else if (coding.equals("*")) wildcard = quality;
+        }
+        if (gzip != null) return gzip > 0;
+        return wildcard != null && wildcard > 0;
+    }
+
+    /**
+     * A cached rendering of completed results, conditional on its ETag and gzip-encoded when accepted
+     */
+    private ResponseEntity<byte[]> renderedResponse(RenderedResult rendered, String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = rendered.getGzipped() != null && acceptsGzip(acceptEncoding);
+        CacheControl revalidate = CacheControl.noCache().cachePrivate();
+        if (rendered.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(rendered.etag(gzip))
+                    .cacheControl(revalidate)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(rendered.etag(gzip))
+                .cacheControl(revalidate)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return ok.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(rendered.getGzipped());
+        }
+        return ok.body(rendered.getBody());
+    }
+}
@@ -0,0 +1,29 @@
+package com.sensor.dto;
+
+import java.util.List;
+
+/**
+ * Upload ids whose results are fetched together, with the device and channel filters applied to each
+ */
+public class BatchResultsRequest {
+    private List<String> uploadIds;
+    private List<String> deviceIds;
+    private List<String> channels;
+
+    public BatchResultsRequest() {}
+
+    public BatchResultsRequest(List<String> uploadIds, List<String> deviceIds, List<String> channels) {
+        this.uploadIds = uploadIds;
+        this.deviceIds = deviceIds;
+        this.channels = channels;
+    }
+
+    public List<String> getUploadIds() { return uploadIds; }
+    public void setUploadIds(List<String> uploadIds) { this.uploadIds = uploadIds; }
+
+    public List<String> getDeviceIds() { return deviceIds; }
+    public void setDeviceIds(List<String> deviceIds) { this.deviceIds = deviceIds; }
+
+    public List<String> getChannels() { return channels; }
+    public void setChannels(List<String> channels) { this.channels = channels; }
+}
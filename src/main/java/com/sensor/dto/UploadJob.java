@@ -1,23 +1,47 @@
 package com.sensor.dto;
 
 import com.sensor.dto.response.ChannelStats;
+import com.sensor.services.aggregation.PartialResults;
+import com.sensor.services.aggregation.ResultIndex;
 
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Represents an upload job with processing state
+ * Represents an upload job with processing state.
+ * The lifecycle is a state machine advanced by compare-and-set, PENDING -> PROCESSING ->
+ * COMPLETED / FAILED / CANCELLED (a PENDING job may also fail or be cancelled), so exactly one
+ * of several racing transitions wins. Status, error, times and the final results change
+ * together as one immutable state, and row counters are {@link LongAdder}s, so any number of
+ * threads may parse into a job while others read it.
  */
 public class UploadJob {
     private String uploadId;
+    private String owner;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
     private byte[] rawData;
-    private JobStatus status = JobStatus.PENDING;
-    private Map<String, ChannelStats> results;
-    private long acceptedCount = 0;
-    private long rejectedCount = 0;
-    private String errorMessage;
-    private LocalDateTime startTime;
-    private LocalDateTime endTime;
+    private Path spoolFile;
+    private long sizeBytes = -1;
+    private boolean gzipped;
+    private PayloadFormat format = PayloadFormat.CSV;
+    private boolean stream;
+    private String replayOf;
+    private Priority priority = Priority.NORMAL;
+    // read by the worker while it parses, so a cancel request is seen promptly
+    private volatile boolean cancelRequested;
+    // progress while PROCESSING, updated by the parsing threads
+    private final LongAdder bytesProcessed = new LongAdder();
+    private volatile PartialResults partialResults;
+    // approximate heap held once finished, see JobRegistry
+    private volatile long retainedBytes;
+    private final AtomicReference<State> state = new AtomicReference<>(State.INITIAL);
+    // live statistics of an open stream; final results are part of the COMPLETED state instead
+    private volatile Map<String, ChannelStats> results;
+    private final LongAdder acceptedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
 
     public UploadJob(String uploadId, byte[] rawData) {
         this.uploadId = uploadId;
@@ -26,34 +50,168 @@ public class UploadJob {
 
     // Increment methods
     public void incrementAccepted() {
-        acceptedCount++;
+        acceptedCount.increment();
     }
 
     public void incrementRejected() {
-        rejectedCount++;
+        rejectedCount.increment();
+    }
+
+    // Batched update used when several threads parse parts of the same upload
+    public void addCounts(long accepted, long rejected) {
+        if (accepted != 0) acceptedCount.add(accepted);
+        if (rejected != 0) rejectedCount.add(rejected);
+    }
+
+    // State transitions; each returns false when the job was no longer in a state it may leave
+
+    /**
+     * PENDING -> PROCESSING
+     */
+    public boolean start() {
+        return transition(JobStatus.PROCESSING, null, JobStatus.PENDING);
+    }
+
+    /**
+     * PROCESSING -> COMPLETED with the final statistics
+     */
+    public boolean complete(Map<String, ChannelStats> finalResults) {
+        if (getStatus() != JobStatus.PROCESSING) return false;
+        // built up front and published by the transition itself, so a job that loses
+        // the race to a cancel or failure never carries results
+        ResultIndex index = new ResultIndex(finalResults.values());
+        return transition(JobStatus.COMPLETED, null, finalResults, index, JobStatus.PROCESSING);
+    }
+
+    /**
+     * PENDING or PROCESSING -> FAILED
+     */
+    public boolean fail(String message) {
+        return transition(JobStatus.FAILED, message, JobStatus.PENDING, JobStatus.PROCESSING);
+    }
+
+    /**
+     * PENDING -> CANCELLED, for a job that has not been picked up by a worker yet
+     */
+    public boolean cancelQueued() {
+        return transition(JobStatus.CANCELLED, "Job cancelled", JobStatus.PENDING);
+    }
+
+    /**
+     * PENDING or PROCESSING -> CANCELLED
+     */
+    public boolean cancel() {
+        return transition(JobStatus.CANCELLED, "Job cancelled", JobStatus.PENDING, JobStatus.PROCESSING);
+    }
+
+    public boolean isFinished() {
+        JobStatus status = getStatus();
+        return status != JobStatus.PENDING && status != JobStatus.PROCESSING;
+    }
+
+    private boolean transition(JobStatus to, String message, JobStatus... from) {
+        return transition(to, message, null, null, from);
+    }
+
+    private boolean transition(JobStatus to, String message, Map<String, ChannelStats> finalResults,
+                               ResultIndex index, JobStatus... from) {
+        LocalDateTime now = LocalDateTime.now();
+        while (true) {
+            State current = state.get();
+            if (!isOneOf(current.status, from)) return false;
+            State next = to == JobStatus.PROCESSING
+                    ? new State(to, null, now, null, null, null)
+                    : new State(to, message, current.startTime, now, finalResults, index);
+            if (state.compareAndSet(current, next)) return true;
+        }
+    }
+
+    private static boolean isOneOf(JobStatus status, JobStatus[] candidates) {
+        for (JobStatus candidate : candidates) {
+            if (candidate == status) return true;
+        }
+        return false;
     }
 
     // Getters
     public String getUploadId() { return uploadId; }
+    public String getOwner() { return owner; }
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
     public byte[] getRawData() { return rawData; }
-    public JobStatus getStatus() { return status; }
-    public Map<String, ChannelStats> getResults() { return results; }
-    public long getAcceptedCount() { return acceptedCount; }
-    public long getRejectedCount() { return rejectedCount; }
-    public String getErrorMessage() { return errorMessage; }
-    public LocalDateTime getStartTime() { return startTime; }
-    public LocalDateTime getEndTime() { return endTime; }
+    public Path getSpoolFile() { return spoolFile; }
+    public long getSizeBytes() { return sizeBytes; }
+    public boolean isGzipped() { return gzipped; }
+    public PayloadFormat getFormat() { return format; }
+    public boolean isStream() { return stream; }
+    public String getReplayOf() { return replayOf; }
+    public Priority getPriority() { return priority; }
+    public boolean isCancelRequested() { return cancelRequested; }
+    public LongAdder getBytesProcessed() { return bytesProcessed; }
+    public PartialResults getPartialResults() { return partialResults; }
+    public long getRetainedBytes() { return retainedBytes; }
+    public JobStatus getStatus() { return state.get().status; }
+    public Map<String, ChannelStats> getResults() {
+        Map<String, ChannelStats> finalResults = state.get().results;
+        return finalResults != null ? finalResults : results;
+    }
+    public ResultIndex getResultIndex() { return state.get().resultIndex; }
+    public int getDeviceCount() {
+        ResultIndex index = getResultIndex();
+        return index != null ? index.deviceCount() : 0;
+    }
+    public int getChannelCount() {
+        ResultIndex index = getResultIndex();
+        return index != null ? index.channelCount() : 0;
+    }
+    public long getAcceptedCount() { return acceptedCount.sum(); }
+    public long getRejectedCount() { return rejectedCount.sum(); }
+    public String getErrorMessage() { return state.get().errorMessage; }
+    public LocalDateTime getStartTime() { return state.get().startTime; }
+    public LocalDateTime getEndTime() { return state.get().endTime; }
 
     // Setters
     public void setUploadId(String uploadId) { this.uploadId = uploadId; }
+    public void setOwner(String owner) { this.owner = owner; }
     public void setRawData(byte[] rawData) { this.rawData = rawData; }
-    public void setStatus(JobStatus status) { this.status = status; }
+    public void setSpoolFile(Path spoolFile) { this.spoolFile = spoolFile; }
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+    public void setGzipped(boolean gzipped) { this.gzipped = gzipped; }
+    public void setFormat(PayloadFormat format) { this.format = format; }
+    public void setStream(boolean stream) { this.stream = stream; }
+    public void setReplayOf(String replayOf) { this.replayOf = replayOf; }
+    public void setPriority(Priority priority) { this.priority = priority; }
+    public void setCancelRequested(boolean cancelRequested) { this.cancelRequested = cancelRequested; }
+    public void setPartialResults(PartialResults partialResults) { this.partialResults = partialResults; }
+    public void setRetainedBytes(long retainedBytes) { this.retainedBytes = retainedBytes; }
     public void setResults(Map<String, ChannelStats> results) { this.results = results; }
-    public void setAcceptedCount(long acceptedCount) { this.acceptedCount = acceptedCount; }
-    public void setRejectedCount(long rejectedCount) { this.rejectedCount = rejectedCount; }
-    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
-    public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
-    public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
 
-    public enum JobStatus {PENDING, PROCESSING, COMPLETED, FAILED}
+    public enum JobStatus {PENDING, PROCESSING, COMPLETED, FAILED, CANCELLED}
+
+    // Status with the fields that change along with it, replaced as a whole on every transition
+    private static final class State {
+        static final State INITIAL = new State(JobStatus.PENDING, null, null, null, null, null);
+
+        final JobStatus status;
+        final String errorMessage;
+        final LocalDateTime startTime;
+        final LocalDateTime endTime;
+        // only set in the COMPLETED state
+        final Map<String, ChannelStats> results;
+        final ResultIndex resultIndex;
+
+        State(JobStatus status, String errorMessage, LocalDateTime startTime, LocalDateTime endTime,
+              Map<String, ChannelStats> results, ResultIndex resultIndex) {
+            this.status = status;
+            this.errorMessage = errorMessage;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.results = results;
+            this.resultIndex = resultIndex;
+        }
+    }
+
+    public enum PayloadFormat {CSV, BINARY, NDJSON}
+
+    // Queued uploads of a higher priority always run first
+    public enum Priority {LOW, NORMAL, HIGH}
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.sensor.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Statistics merged across the uploads matching a query, one entry per group. A group by device
+ * has a null channel, a group by channel a null device.
+ */
+public class AggregateResponse {
+    private String groupBy;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private int jobCount;
+    private List<SeriesStatistics> groups;
+
+    public AggregateResponse() {}
+
+    // Getters and Setters
+    public String getGroupBy() { return groupBy; }
+    public void setGroupBy(String groupBy) { this.groupBy = groupBy; }
+
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+
+    public int getJobCount() { return jobCount; }
+    public void setJobCount(int jobCount) { this.jobCount = jobCount; }
+
+    public List<SeriesStatistics> getGroups() { return groups; }
+    public void setGroups(List<SeriesStatistics> groups) { this.groups = groups; }
+}
@@ -1,12 +1,14 @@
 package com.sensor.dto.response;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import java.time.LocalDateTime;
 
 /**
  * Standard API response wrapper for consistent response structure
- * Makes it easier to test in Postman with predictable response format
+ * Makes it easier to test in Postman with predictable response format (and property order)
  */
+@JsonPropertyOrder({"success", "message", "data", "errorCode", "timestamp"})
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class ApiResponse<T> {
 
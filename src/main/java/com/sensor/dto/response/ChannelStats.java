@@ -1,16 +1,23 @@
 package com.sensor.dto.response;
 
-import java.util.HashMap;
-import java.util.Map;
-
+/**
+ * Running statistics for one device/channel series.
+ * Uses Welford's update for single values and Chan's formula to merge partial aggregates,
+ * so mean and variance stay accurate for large counts of values with a large offset.
+ */
 public class ChannelStats {
-String deviceId;
-String channel;
-long count = 0;
-double sum = 0;
-double min = Double.MAX_VALUE;
-double max = Double.MIN_VALUE;
-double sumSquares = 0;
+    String deviceId;
+    String channel;
+    long count = 0;
+    double mean = 0;
+    double m2 = 0;
+    double min = Double.MAX_VALUE;
+    double max = -Double.MAX_VALUE;
+
+    public ChannelStats(String deviceId, String channel) {
+        this.deviceId = deviceId;
+        this.channel = channel;
+    }
 
     public String getDeviceId() {
         return deviceId;
@@ -32,71 +39,78 @@ double sumSquares = 0;
         return count;
     }
 
-    public void setCount(long count) {
-        this.count = count;
-    }
-
-    public double getSum() {
-        return sum;
-    }
-
-    public void setSum(double sum) {
-        this.sum = sum;
-    }
-
     public double getMin() {
         return min;
     }
 
-    public void setMin(double min) {
-        this.min = min;
-    }
-
     public double getMax() {
         return max;
     }
 
-    public void setMax(double max) {
-        this.max = max;
+    /**
+     * Sum of squared deviations from the mean
+     */
+    public double getM2() {
+        return m2;
     }
 
-    public double getSumSquares() {
-        return sumSquares;
+    public double getSum() {
+        return mean * count;
     }
 
-    public void setSumSquares(double sumSquares) {
-        this.sumSquares = sumSquares;
+    public void addValue(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        if (value < min) min = value;
+        if (value > max) max = value;
     }
 
-    public ChannelStats(String deviceId, String channel) {
-    this.deviceId = deviceId;
-    this.channel = channel;
-}
+    /**
+     * Fold another partial aggregate of the same series into this one in O(1)
+     */
+    public void merge(ChannelStats other) {
+        if (other.count == 0) return;
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            min = other.min;
+            max = other.max;
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
 
-public void addValue(double value) {
-    count++;
-    sum += value;
-    min = Math.min(min, value);
-    max = Math.max(max, value);
-    sumSquares += value * value;
-}
+    /**
+     * Back to the empty aggregate, keeping the series names
+     */
+    public void reset() {
+        count = 0;
+        mean = 0;
+        m2 = 0;
+        min = Double.MAX_VALUE;
+        max = -Double.MAX_VALUE;
+    }
 
-public double getAverage() { return count > 0 ? sum / count : 0; }
-public double getStdDev() {
-    if (count < 2) return 0;
-    double avg = getAverage();
-    return Math.sqrt(sumSquares / count - avg * avg);
-}
+    public double getAverage() { return count > 0 ? mean : 0; }
 
-public Map<String, Object> toMap() {
-    Map<String, Object> map = new HashMap<>();
-    map.put("deviceId", deviceId);
-    map.put("channel", channel);
-    map.put("count", count);
-    map.put("min", min);
-    map.put("max", max);
-    map.put("average", getAverage());
-    map.put("stdDev", getStdDev());
-    return map;
-}
+    /**
+     * Population standard deviation
+     */
+    public double getStdDev() {
+        if (count < 2) return 0;
+        return Math.sqrt(Math.max(0, m2 / count));
+    }
+
+    public SeriesStatistics toStatistics() {
+        return new SeriesStatistics(deviceId, channel, count, min, max, getAverage(), getStdDev());
+    }
 }
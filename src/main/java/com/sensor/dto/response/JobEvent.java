@@ -0,0 +1,66 @@
+package com.sensor.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * A job status transition or progress update pushed to event subscribers
+ */
+public class JobEvent {
+
+    public enum Type {
+        /** Current state on subscribe, and every status transition after that */
+        STATUS,
+        /** Periodic progress of a processing job */
+        PROGRESS
+    }
+
+    private Type type;
+    private String uploadId;
+    private String status;
+    private long acceptedCount;
+    private long rejectedCount;
+    private String errorMessage;
+    private JobProgress progress;
+    private LocalDateTime timestamp;
+
+    public JobEvent() {}
+
+    public JobEvent(Type type, String uploadId, String status) {
+        this.type = type;
+        this.uploadId = uploadId;
+        this.status = status;
+        this.timestamp = LocalDateTime.now();
+    }
+
+    /**
+     * True once the job has reached a final status and no further events follow
+     */
+    public boolean isFinal() {
+        return "COMPLETED".equals(status) || "FAILED".equals(status) || "CANCELLED".equals(status);
+    }
+
+    // Getters and Setters
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+
+    public String getUploadId() { return uploadId; }
+    public void setUploadId(String uploadId) { this.uploadId = uploadId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public long getAcceptedCount() { return acceptedCount; }
+    public void setAcceptedCount(long acceptedCount) { this.acceptedCount = acceptedCount; }
+
+    public long getRejectedCount() { return rejectedCount; }
+    public void setRejectedCount(long rejectedCount) { this.rejectedCount = rejectedCount; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public JobProgress getProgress() { return progress; }
+    public void setProgress(JobProgress progress) { this.progress = progress; }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+}
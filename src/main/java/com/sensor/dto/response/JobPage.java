@@ -0,0 +1,26 @@
+package com.sensor.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a job listing; pass nextCursor as "after" to get the next page
+ */
+public class JobPage {
+    private List<Map<String, Object>> jobs;
+    private String nextCursor;
+
+    public JobPage() {}
+
+    public JobPage(List<Map<String, Object>> jobs, String nextCursor) {
+        this.jobs = jobs;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<Map<String, Object>> getJobs() { return jobs; }
+    public void setJobs(List<Map<String, Object>> jobs) { this.jobs = jobs; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
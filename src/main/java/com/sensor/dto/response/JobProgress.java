@@ -0,0 +1,50 @@
+package com.sensor.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a job that is still processing. Byte figures refer to the upload as received
+ * (compressed size for gzip uploads); the estimate is null while the size or rate is unknown.
+ * Serialized in declaration order, like the rest of a result document.
+ */
+@JsonPropertyOrder({"bytesProcessed", "totalBytes", "percentComplete", "rowsProcessed", "rowsPerSecond",
+        "elapsedMs", "estimatedRemainingMs", "estimatedCompletion"})
+public class JobProgress {
+    private long bytesProcessed;
+    private long totalBytes;
+    private Double percentComplete;
+    private long rowsProcessed;
+    private double rowsPerSecond;
+    private long elapsedMs;
+    private Long estimatedRemainingMs;
+    private LocalDateTime estimatedCompletion;
+
+    public JobProgress() {}
+
+    // Getters and Setters
+    public long getBytesProcessed() { return bytesProcessed; }
+    public void setBytesProcessed(long bytesProcessed) { this.bytesProcessed = bytesProcessed; }
+
+    public long getTotalBytes() { return totalBytes; }
+    public void setTotalBytes(long totalBytes) { this.totalBytes = totalBytes; }
+
+    public Double getPercentComplete() { return percentComplete; }
+    public void setPercentComplete(Double percentComplete) { this.percentComplete = percentComplete; }
+
+    public long getRowsProcessed() { return rowsProcessed; }
+    public void setRowsProcessed(long rowsProcessed) { this.rowsProcessed = rowsProcessed; }
+
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(double rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+
+    public Long getEstimatedRemainingMs() { return estimatedRemainingMs; }
+    public void setEstimatedRemainingMs(Long estimatedRemainingMs) { this.estimatedRemainingMs = estimatedRemainingMs; }
+
+    public LocalDateTime getEstimatedCompletion() { return estimatedCompletion; }
+    public void setEstimatedCompletion(LocalDateTime estimatedCompletion) { this.estimatedCompletion = estimatedCompletion; }
+}
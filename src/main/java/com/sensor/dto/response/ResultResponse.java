@@ -1,21 +1,26 @@
 package com.sensor.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 /**
- * Response DTO for result queries
+ * Response DTO for result queries. The property order is pinned because
+ * {@link com.sensor.services.results.ResultJson} writes the same document without Jackson databind.
  */
+@JsonPropertyOrder({"uploadId", "status", "acceptedCount", "rejectedCount", "errorMessage", "statistics",
+        "startTime", "endTime", "progress"})
 public class ResultResponse {
     private String uploadId;
     private String status;
     private long acceptedCount;
     private long rejectedCount;
     private String errorMessage;
-    private List<Map<String, Object>> statistics;
+    private List<SeriesStatistics> statistics;
     private LocalDateTime startTime;    // ← ADD THIS
     private LocalDateTime endTime;      // ← ADD THIS
+    private JobProgress progress;
 
     public ResultResponse() {}
 
@@ -35,12 +40,15 @@ public class ResultResponse {
     public String getErrorMessage() { return errorMessage; }
     public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
 
-    public List<Map<String, Object>> getStatistics() { return statistics; }
-    public void setStatistics(List<Map<String, Object>> statistics) { this.statistics = statistics; }
+    public List<SeriesStatistics> getStatistics() { return statistics; }
+    public void setStatistics(List<SeriesStatistics> statistics) { this.statistics = statistics; }
 
     public LocalDateTime getStartTime() { return startTime; }
     public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
 
     public LocalDateTime getEndTime() { return endTime; }
     public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+
+    public JobProgress getProgress() { return progress; }
+    public void setProgress(JobProgress progress) { this.progress = progress; }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.sensor.dto.response;
+
+import java.time.LocalDateTime;
+
+/**
+ * Statistics of one device/channel series across every completed upload: all-time, and over
+ * the uploads completed since local midnight (null when there were none)
+ */
+public class SeriesRollup {
+    private String deviceId;
+    private String channel;
+    private SeriesStatistics allTime;
+    private SeriesStatistics sinceMidnight;
+    private long uploads;
+    private LocalDateTime lastUpdated;
+
+    public SeriesRollup() {}
+
+    // Getters and Setters
+    public String getDeviceId() { return deviceId; }
+    public void setDeviceId(String deviceId) { this.deviceId = deviceId; }
+
+    public String getChannel() { return channel; }
+    public void setChannel(String channel) { this.channel = channel; }
+
+    public SeriesStatistics getAllTime() { return allTime; }
+    public void setAllTime(SeriesStatistics allTime) { this.allTime = allTime; }
+
+    public SeriesStatistics getSinceMidnight() { return sinceMidnight; }
+    public void setSinceMidnight(SeriesStatistics sinceMidnight) { this.sinceMidnight = sinceMidnight; }
+
+    public long getUploads() { return uploads; }
+    public void setUploads(long uploads) { this.uploads = uploads; }
+
+    public LocalDateTime getLastUpdated() { return lastUpdated; }
+    public void setLastUpdated(LocalDateTime lastUpdated) { this.lastUpdated = lastUpdated; }
+}
@@ -0,0 +1,72 @@
+package com.sensor.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.Objects;
+
+/**
+ * Statistics of one device/channel series as returned by result queries, serialized in field order
+ */
+@JsonPropertyOrder({"deviceId", "channel", "count", "min", "max", "average", "stdDev"})
+public class SeriesStatistics {
+    private String deviceId;
+    private String channel;
+    private long count;
+    private double min;
+    private double max;
+    private double average;
+    private double stdDev;
+
+    public SeriesStatistics() {}
+
+    public SeriesStatistics(String deviceId, String channel, long count,
+                            double min, double max, double average, double stdDev) {
+        this.deviceId = deviceId;
+        this.channel = channel;
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.average = average;
+        this.stdDev = stdDev;
+    }
+
+    // Getters and Setters
+    public String getDeviceId() { return deviceId; }
+    public void setDeviceId(String deviceId) { this.deviceId = deviceId; }
+
+    public String getChannel() { return channel; }
+    public void setChannel(String channel) { this.channel = channel; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public double getMin() { return min; }
+    public void setMin(double min) { this.min = min; }
+
+    public double getMax() { return max; }
+    public void setMax(double max) { this.max = max; }
+
+    public double getAverage() { return average; }
+    public void setAverage(double average) { this.average = average; }
+
+    public double getStdDev() { return stdDev; }
+    public void setStdDev(double stdDev) { this.stdDev = stdDev; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SeriesStatistics other)) return false;
+        return count == other.count
+                && Double.compare(min, other.min) == 0
+                && Double.compare(max, other.max) == 0
+                && Double.compare(average, other.average) == 0
+                && Double.compare(stdDev, other.stdDev) == 0
+                && Objects.equals(deviceId, other.deviceId)
+                && Objects.equals(channel, other.channel);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(deviceId, channel, count, min, max, average, stdDev);
+    }
+}
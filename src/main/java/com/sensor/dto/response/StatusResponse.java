@@ -1,11 +1,26 @@
 package com.sensor.dto.response;
 
+import java.util.List;
+import java.util.Map;
+
 public class StatusResponse {
     public long totalSamplesReceived;
     public long totalSamplesProcessed;
     public long totalInvalidSamples;
     public long pendingJobs;
     public long totalJobs;
+    public Map<String, Long> jobsByStatus;
+    public long activeWorkers;
+    public long queuedJobs;
+    public long queuedBytes;
+    public long rejectedUploads;
+    public List<UserQueueStatus> userQueues;
+    public long retainedBytes;
+    public long expiredJobs;
+    public long resultCacheBytes;
+    public long resultCacheHits;
+    public long resultCacheMisses;
+    public int rollupSeries;
 
     public StatusResponse() {}
 
@@ -28,4 +43,28 @@ public class StatusResponse {
     public void setPendingJobs(long pendingJobs) { this.pendingJobs = pendingJobs; }
     public long getTotalJobs() { return totalJobs; }
     public void setTotalJobs(long totalJobs) { this.totalJobs = totalJobs; }
+    public Map<String, Long> getJobsByStatus() { return jobsByStatus; }
+    public void setJobsByStatus(Map<String, Long> jobsByStatus) { this.jobsByStatus = jobsByStatus; }
+    public long getActiveWorkers() { return activeWorkers; }
+    public void setActiveWorkers(long activeWorkers) { this.activeWorkers = activeWorkers; }
+    public long getQueuedJobs() { return queuedJobs; }
+    public void setQueuedJobs(long queuedJobs) { this.queuedJobs = queuedJobs; }
+    public long getQueuedBytes() { return queuedBytes; }
+    public void setQueuedBytes(long queuedBytes) { this.queuedBytes = queuedBytes; }
+    public long getRejectedUploads() { return rejectedUploads; }
+    public void setRejectedUploads(long rejectedUploads) { this.rejectedUploads = rejectedUploads; }
+    public List<UserQueueStatus> getUserQueues() { return userQueues; }
+    public void setUserQueues(List<UserQueueStatus> userQueues) { this.userQueues = userQueues; }
+    public long getRetainedBytes() { return retainedBytes; }
+    public void setRetainedBytes(long retainedBytes) { this.retainedBytes = retainedBytes; }
+    public long getExpiredJobs() { return expiredJobs; }
+    public void setExpiredJobs(long expiredJobs) { this.expiredJobs = expiredJobs; }
+    public long getResultCacheBytes() { return resultCacheBytes; }
+    public void setResultCacheBytes(long resultCacheBytes) { this.resultCacheBytes = resultCacheBytes; }
+    public long getResultCacheHits() { return resultCacheHits; }
+    public void setResultCacheHits(long resultCacheHits) { this.resultCacheHits = resultCacheHits; }
+    public long getResultCacheMisses() { return resultCacheMisses; }
+    public void setResultCacheMisses(long resultCacheMisses) { this.resultCacheMisses = resultCacheMisses; }
+    public int getRollupSeries() { return rollupSeries; }
+    public void setRollupSeries(int rollupSeries) { this.rollupSeries = rollupSeries; }
 }
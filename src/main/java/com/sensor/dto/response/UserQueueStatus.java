@@ -0,0 +1,39 @@
+package com.sensor.dto.response;
+
+/**
+ * Scheduling figures for one user's uploads
+ */
+public class UserQueueStatus {
+    public String owner;
+    public long queuedJobs;
+    public long queuedBytes;
+    public long dispatchedJobs;
+    public long averageWaitMs;
+    public long maxWaitMs;
+
+    public UserQueueStatus() {}
+
+    public UserQueueStatus(String owner, long queuedJobs, long queuedBytes,
+                           long dispatchedJobs, long averageWaitMs, long maxWaitMs) {
+        this.owner = owner;
+        this.queuedJobs = queuedJobs;
+        this.queuedBytes = queuedBytes;
+        this.dispatchedJobs = dispatchedJobs;
+        this.averageWaitMs = averageWaitMs;
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    // Getters and setters
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+    public long getQueuedJobs() { return queuedJobs; }
+    public void setQueuedJobs(long queuedJobs) { this.queuedJobs = queuedJobs; }
+    public long getQueuedBytes() { return queuedBytes; }
+    public void setQueuedBytes(long queuedBytes) { this.queuedBytes = queuedBytes; }
+    public long getDispatchedJobs() { return dispatchedJobs; }
+    public void setDispatchedJobs(long dispatchedJobs) { this.dispatchedJobs = dispatchedJobs; }
+    public long getAverageWaitMs() { return averageWaitMs; }
+    public void setAverageWaitMs(long averageWaitMs) { this.averageWaitMs = averageWaitMs; }
+    public long getMaxWaitMs() { return maxWaitMs; }
+    public void setMaxWaitMs(long maxWaitMs) { this.maxWaitMs = maxWaitMs; }
+}
@@ -0,0 +1,28 @@
+package com.sensor.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when an upload is turned away because the processing queue is over budget
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    public enum Reason {
+        /** Too many uploads are waiting for a worker */
+        QUEUED_JOBS,
+        /** Waiting uploads already hold too many bytes */
+        QUEUED_BYTES
+    }
+
+    private final Reason reason;
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(String message, Reason reason, Duration retryAfter) {
+        super(message);
+        this.reason = reason;
+        this.retryAfter = retryAfter;
+    }
+
+    public Reason getReason() { return reason; }
+    public Duration getRetryAfter() { return retryAfter; }
+}
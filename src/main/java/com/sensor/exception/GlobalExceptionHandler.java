@@ -2,6 +2,7 @@ package com.sensor.exception;
 
 import com.sensor.dto.response.ApiResponse;
 import com.sensor.dto.response.ErrorResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -34,6 +35,30 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage(), "UPLOAD_NOT_FOUND"));
     }
 
+    /**
+     * Handle uploads whose job and results have expired: 410, so clients stop polling
+     */
+    @ExceptionHandler(UploadExpiredException.class)
+    public ResponseEntity<ApiResponse<String>> handleUploadExpired(
+            UploadExpiredException ex, WebRequest request) {
+
+        return ResponseEntity
+                .status(HttpStatus.GONE)
+                .body(ApiResponse.error(ex.getMessage(), "UPLOAD_EXPIRED"));
+    }
+
+    /**
+     * Handle series that no completed upload has had
+     */
+    @ExceptionHandler(SeriesNotFoundException.class)
+    public ResponseEntity<ApiResponse<String>> handleSeriesNotFound(
+            SeriesNotFoundException ex, WebRequest request) {
+
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(ex.getMessage(), "SERIES_NOT_FOUND"));
+    }
+
     /**
      * Handle file size exceeded
      */
@@ -46,6 +71,25 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error("File size exceeds maximum limit (100MB)", "FILE_TOO_LARGE"));
     }
 
+    /**
+     * Handle uploads turned away by admission control: 429 when too many uploads are queued,
+     * 503 when the queued bytes are over budget, both with a Retry-After hint
+     */
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ApiResponse<String>> handleAdmissionRejected(
+            AdmissionRejectedException ex, WebRequest request) {
+
+        HttpStatus status = ex.getReason() == AdmissionRejectedException.Reason.QUEUED_JOBS
+                ? HttpStatus.TOO_MANY_REQUESTS
+                : HttpStatus.SERVICE_UNAVAILABLE;
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+
+        return ResponseEntity
+                .status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(ApiResponse.error(ex.getMessage(), "UPLOAD_QUEUE_FULL"));
+    }
+
     /**
      * Handle illegal argument exceptions
      */
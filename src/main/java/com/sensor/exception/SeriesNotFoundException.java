@@ -0,0 +1,11 @@
+package com.sensor.exception;
+
+/**
+ * Exception thrown when no completed upload has had a device/channel series
+ */
+public class SeriesNotFoundException extends RuntimeException {
+
+    public SeriesNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.sensor.exception;
+
+/**
+ * Exception thrown when an upload existed but was evicted from the job registry
+ */
+public class UploadExpiredException extends RuntimeException {
+
+    public UploadExpiredException(String message) {
+        super(message);
+    }
+}
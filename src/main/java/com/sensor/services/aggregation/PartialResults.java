@@ -0,0 +1,69 @@
+package com.sensor.services.aggregation;
+
+import com.sensor.dto.response.ChannelStats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Partial statistics of a job that is still being parsed. Every parsing thread owns a slot
+ * and periodically publishes a copy of its own statistics into it, so the copy is taken
+ * between rows by the only thread that mutates them: the parse loop never locks and a
+ * reader never sees a half-updated series. Readers merge the latest copy of every slot.
+ */
+public class PartialResults {
+
+    private final AtomicInteger slots = new AtomicInteger();
+    private final Map<Integer, List<ChannelStats>> published = new ConcurrentHashMap<>();
+
+    public int newSlot() {
+        return slots.getAndIncrement();
+    }
+
+    /**
+     * Publish a copy of a parsing thread's statistics; only call from the thread that owns the slot
+     */
+    public void publish(int slot, SeriesTable series) {
+        List<ChannelStats> copy = new ArrayList<>(series.size());
+        for (int id = 0; id < series.size(); id++) {
+            copy.add(copyOf(series.get(id)));
+        }
+        published.put(slot, copy);
+    }
+
+    /**
+     * Publish a copy of a parsing thread's statistics; only call from the thread that owns the slot
+     */
+    public void publish(int slot, Collection<ChannelStats> stats) {
+        List<ChannelStats> copy = new ArrayList<>(stats.size());
+        for (ChannelStats series : stats) {
+            copy.add(copyOf(series));
+        }
+        published.put(slot, copy);
+    }
+
+    /**
+     * The latest published statistics of all slots merged, keyed by "deviceId:channel"
+     */
+    public Map<String, ChannelStats> snapshot() {
+        Map<String, ChannelStats> merged = new HashMap<>();
+        for (List<ChannelStats> slot : published.values()) {
+            for (ChannelStats series : slot) {
+                merged.computeIfAbsent(series.getDeviceId() + ":" + series.getChannel(),
+                        key -> new ChannelStats(series.getDeviceId(), series.getChannel())).merge(series);
+            }
+        }
+        return merged;
+    }
+
+    private static ChannelStats copyOf(ChannelStats series) {
+        ChannelStats copy = new ChannelStats(series.getDeviceId(), series.getChannel());
+        copy.merge(series);
+        return copy;
+    }
+}
@@ -0,0 +1,97 @@
+package com.sensor.services.aggregation;
+
+import com.sensor.dto.response.ChannelStats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Merges the statistics of many jobs into one aggregate per group. The jobs are split into
+ * slices merged in parallel on the given executor, and the slice aggregates are then merged with the
+ * same formula, so the result does not depend on how the jobs were split.
+ */
+public class ResultAggregator {
+
+    public enum GroupBy {
+        /** One aggregate per device, across its channels */
+        DEVICE,
+        /** One aggregate per channel, across devices */
+        CHANNEL,
+        /** One aggregate per device/channel series */
+        DEVICE_CHANNEL
+    }
+
+    // fewer jobs per slice are not worth a task
+    private static final int MIN_SLICE_JOBS = 64;
+
+    private static final Comparator<String> NAMES = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final ExecutorService pool;
+    private final int parallelism;
+
+    /**
+     * Merge at most parallelism slices at a time on the pool
+     */
+    public ResultAggregator(ExecutorService pool, int parallelism) {
+        this.pool = pool;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Aggregates of the series of all jobs, sorted by device then channel; the name a group does
+     * not distinguish is null
+     */
+    public <J> List<ChannelStats> aggregate(List<J> jobs, Function<J, Iterable<ChannelStats>> seriesOf, GroupBy groupBy)
+            throws InterruptedException {
+        int slices = Math.max(1, Math.min(parallelism, jobs.size() / MIN_SLICE_JOBS));
+        Map<GroupKey, ChannelStats> groups;
+        if (slices == 1) {
+            groups = merge(jobs, seriesOf, groupBy);
+        } else {
+            List<Callable<Map<GroupKey, ChannelStats>>> tasks = new ArrayList<>(slices);
+            for (int i = 0; i < slices; i++) {
+                List<J> slice = jobs.subList(jobs.size() * i / slices, jobs.size() * (i + 1) / slices);
+                tasks.add(() -> merge(slice, seriesOf, groupBy));
+            }
+            groups = new HashMap<>();
+            try {
+                for (Future<Map<GroupKey, ChannelStats>> partial : pool.invokeAll(tasks)) {
+                    partial.get().forEach((key, stats) -> groups.merge(key, stats, (merged, next) -> {
+                        merged.merge(next);
+                        return merged;
+                    }));
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Aggregation failed", e.getCause());
+            }
+        }
+
+        List<ChannelStats> sorted = new ArrayList<>(groups.values());
+        sorted.sort(Comparator.comparing(ChannelStats::getDeviceId, NAMES).thenComparing(ChannelStats::getChannel, NAMES));
+        return sorted;
+    }
+
+    private static <J> Map<GroupKey, ChannelStats> merge(List<J> jobs, Function<J, Iterable<ChannelStats>> seriesOf,
+                                                        GroupBy groupBy) {
+        Map<GroupKey, ChannelStats> groups = new HashMap<>();
+        for (J job : jobs) {
+            for (ChannelStats stats : seriesOf.apply(job)) {
+                GroupKey key = new GroupKey(
+                        groupBy == GroupBy.CHANNEL ? null : stats.getDeviceId(),
+                        groupBy == GroupBy.DEVICE ? null : stats.getChannel());
+                groups.computeIfAbsent(key, k -> new ChannelStats(k.deviceId(), k.channel())).merge(stats);
+            }
+        }
+        return groups;
+    }
+
+    private record GroupKey(String deviceId, String channel) {}
+}
@@ -0,0 +1,146 @@
+package com.sensor.services.aggregation;
+
+import com.sensor.dto.response.ChannelStats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Final statistics of a job indexed by device and by channel, built once at completion.
+ * Names are kept sorted, so a filter costs a lookup (or a range scan for a prefix) per selector
+ * plus the series it matches. A selector is an exact name, or a prefix ending in '*'.
+ * Immutable once built, so it can be read by any number of threads.
+ */
+public class ResultIndex {
+
+    // device -> channel -> stats, and channel -> device -> stats
+    private final NavigableMap<String, NavigableMap<String, ChannelStats>> byDevice = new TreeMap<>();
+    private final NavigableMap<String, NavigableMap<String, ChannelStats>> byChannel = new TreeMap<>();
+    private final int size;
+
+    public ResultIndex(Collection<ChannelStats> series) {
+        for (ChannelStats stats : series) {
+            byDevice.computeIfAbsent(stats.getDeviceId(), device -> new TreeMap<>()).put(stats.getChannel(), stats);
+            byChannel.computeIfAbsent(stats.getChannel(), channel -> new TreeMap<>()).put(stats.getDeviceId(), stats);
+        }
+        this.size = series.size();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int deviceCount() {
+        return byDevice.size();
+    }
+
+    public int channelCount() {
+        return byChannel.size();
+    }
+
+    /**
+     * Series matching any of the device selectors and any of the channel selectors, sorted by
+     * device then channel; a null or empty selector list matches everything
+     */
+    public List<ChannelStats> query(List<String> devices, List<String> channels) {
+        List<ChannelStats> matches = new ArrayList<>();
+        boolean anyDevice = devices == null || devices.isEmpty();
+        boolean anyChannel = channels == null || channels.isEmpty();
+        if (anyDevice && !anyChannel) {
+            // only channels are constrained, so start from the channel side
+            for (NavigableMap<String, ChannelStats> ofChannel : select(byChannel, channels)) {
+                matches.addAll(ofChannel.values());
+            }
+            matches.sort((a, b) -> {
+                int byDeviceName = a.getDeviceId().compareTo(b.getDeviceId());
+                return byDeviceName != 0 ? byDeviceName : a.getChannel().compareTo(b.getChannel());
+            });
+            return matches;
+        }
+        Collection<NavigableMap<String, ChannelStats>> ofDevices = anyDevice ? byDevice.values() : select(byDevice, devices);
+        for (NavigableMap<String, ChannelStats> ofDevice : ofDevices) {
+            if (anyChannel) {
+                matches.addAll(ofDevice.values());
+            } else {
+                matches.addAll(select(ofDevice, channels));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * The same series as {@link #query}, walked lazily device by device instead of collected, so
+     * the whole result can be written out without holding a list of it
+     */
+    public Iterable<ChannelStats> series(List<String> devices, List<String> channels) {
+        boolean anyChannel = channels == null || channels.isEmpty();
+        Collection<NavigableMap<String, ChannelStats>> ofDevices =
+                devices == null || devices.isEmpty() ? byDevice.values() : select(byDevice, devices);
+        return () -> ofDevices.stream()
+                .flatMap(ofDevice -> anyChannel ? ofDevice.values().stream() : select(ofDevice, channels).stream())
+                .iterator();
+    }
+
+    /**
+     * Number of series a query matches, without collecting them
+     */
+    public int count(List<String> devices, List<String> channels) {
+        if ((devices == null || devices.isEmpty()) && (channels == null || channels.isEmpty())) return size;
+        int count = 0;
+        for (ChannelStats ignored : series(devices, channels)) count++;
+        return count;
+    }
+
+    /**
+     * Whether a name matches any of the selectors; for filtering series that are not indexed
+     */
+    public static boolean matches(List<String> selectors, String name) {
+        if (selectors == null || selectors.isEmpty()) return true;
+        for (String selector : selectors) {
+            if (isPrefix(selector)
+                    ? name.startsWith(selector.substring(0, selector.length() - 1))
+                    : name.equals(selector)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Values under the keys matching any selector, in key order; overlapping selectors list a value once
+     */
+    private static <V> List<V> select(NavigableMap<String, V> index, List<String> selectors) {
+        if (selectors.size() == 1) {
+            List<V> selected = new ArrayList<>();
+            collect(index, selectors.get(0), (name, value) -> selected.add(value));
+            return selected;
+        }
+        NavigableMap<String, V> selected = new TreeMap<>();
+        for (String selector : selectors) {
+            collect(index, selector, selected::put);
+        }
+        return new ArrayList<>(selected.values());
+    }
+
+    private static <V> void collect(NavigableMap<String, V> index, String selector, BiConsumer<String, V> into) {
+        if (isPrefix(selector)) {
+            String prefix = selector.substring(0, selector.length() - 1);
+            for (Map.Entry<String, V> entry : index.tailMap(prefix, true).entrySet()) {
+                if (!entry.getKey().startsWith(prefix)) break;
+                into.accept(entry.getKey(), entry.getValue());
+            }
+        } else {
+            V value = index.get(selector);
+            if (value != null) into.accept(selector, value);
+        }
+    }
+
+    private static boolean isPrefix(String selector) {
+        return selector.endsWith("*");
+    }
+}
@@ -0,0 +1,99 @@
+package com.sensor.services.aggregation;
+
+import com.sensor.dto.response.ChannelStats;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * All-time and since-midnight statistics per device/channel series across every completed
+ * upload. Each completed upload merges its series in once; the rollups outlive the jobs, so they
+ * survive eviction and deletion. Every series has its own lock, so uploads completing concurrently
+ * only contend on the series they share, and a lookup is a hash probe plus a copy.
+ * "Since midnight" covers the uploads that completed since local midnight.
+ */
+public class SeriesRollups {
+
+    private final Map<SeriesKey, Rollup> rollups = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public SeriesRollups(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Merge the final series of a completed upload
+     */
+    public void add(Collection<ChannelStats> series) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (ChannelStats stats : series) {
+            if (stats.getCount() == 0) continue;
+            Rollup rollup = rollups.computeIfAbsent(new SeriesKey(stats.getDeviceId(), stats.getChannel()), Rollup::new);
+            synchronized (rollup) {
+                rollup.rollOver(now.toLocalDate());
+                rollup.allTime.merge(stats);
+                rollup.today.merge(stats);
+                rollup.uploads++;
+                rollup.lastUpdated = now;
+            }
+        }
+    }
+
+    /**
+     * A consistent copy of one series' rollups, or null when no completed upload had the series
+     */
+    public Snapshot get(String deviceId, String channel) {
+        Rollup rollup = rollups.get(new SeriesKey(deviceId, channel));
+        if (rollup == null) return null;
+        synchronized (rollup) {
+            rollup.rollOver(LocalDate.now(clock));
+            return new Snapshot(copy(rollup.allTime), copy(rollup.today), rollup.uploads, rollup.lastUpdated);
+        }
+    }
+
+    public int size() {
+        return rollups.size();
+    }
+
+    private static ChannelStats copy(ChannelStats stats) {
+        ChannelStats copy = new ChannelStats(stats.getDeviceId(), stats.getChannel());
+        copy.merge(stats);
+        return copy;
+    }
+
+    /**
+     * Rollups of one series as of a lookup
+     */
+    public record Snapshot(ChannelStats allTime, ChannelStats sinceMidnight, long uploads, LocalDateTime lastUpdated) {}
+
+    private record SeriesKey(String deviceId, String channel) {}
+
+    // guarded by its own monitor
+    private static final class Rollup {
+        final ChannelStats allTime;
+        final ChannelStats today;
+        LocalDate day;
+        long uploads;
+        LocalDateTime lastUpdated;
+
+        Rollup(SeriesKey key) {
+            this.allTime = new ChannelStats(key.deviceId(), key.channel());
+            this.today = new ChannelStats(key.deviceId(), key.channel());
+        }
+
+        /**
+         * Start a new day's aggregate once midnight has passed
+         */
+        void rollOver(LocalDate date) {
+            if (!date.equals(day)) {
+                if (day != null && date.isBefore(day)) return; // clock stepped back; keep the later day
+                today.reset();
+                day = date;
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.sensor.services.aggregation;
+
+import com.sensor.dto.response.ChannelStats;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per device/channel statistics indexed by small integer series ids.
+ * Device and channel names are interned from the raw input bytes, so aggregating a row
+ * for a known series does not allocate. Not thread-safe; use one table per parsing thread.
+ */
+public class SeriesTable {
+
+    private static final int EMPTY = -1;
+
+    private final SymbolTable devices = new SymbolTable();
+    private final SymbolTable channels = new SymbolTable();
+
+    private int[] slots = new int[256];
+    private long[] keys = new long[128];
+    private ChannelStats[] stats = new ChannelStats[128];
+    private int size;
+
+    public SeriesTable() {
+        Arrays.fill(slots, EMPTY);
+    }
+
+    /**
+     * Statistics of the series named by the given byte ranges, created on first use
+     */
+    public ChannelStats stats(byte[] buffer, int deviceOffset, int deviceLength, int channelOffset, int channelLength) {
+        int id = seriesId(buffer, deviceOffset, deviceLength, channelOffset, channelLength);
+        return stats[id];
+    }
+
+    /**
+     * Id of the series named by the given byte ranges, created on first use
+     */
+    public int seriesId(byte[] buffer, int deviceOffset, int deviceLength, int channelOffset, int channelLength) {
+        int device = devices.intern(buffer, deviceOffset, deviceLength);
+        int channel = channels.intern(buffer, channelOffset, channelLength);
+        return seriesId(device, channel);
+    }
+
+    /**
+     * Statistics of the series with decoded names, created on first use
+     */
+    public ChannelStats stats(String deviceId, String channel) {
+        int id = seriesId(devices.intern(deviceId), channels.intern(channel));
+        return stats[id];
+    }
+
+    private int seriesId(int device, int channel) {
+        long key = ((long) device << 32) | (channel & 0xffffffffL);
+        int mask = slots.length - 1;
+        int slot = mix(key) & mask;
+        while (true) {
+            int id = slots[slot];
+            if (id == EMPTY) {
+                return add(slot, key, device, channel);
+            }
+            if (keys[id] == key) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ChannelStats get(int seriesId) {
+        return stats[seriesId];
+    }
+
+    /**
+     * Statistics keyed by "deviceId:channel", the shape stored on an upload job
+     */
+    public Map<String, ChannelStats> toMap() {
+        Map<String, ChannelStats> map = new HashMap<>(size * 2);
+        for (int id = 0; id < size; id++) {
+            ChannelStats series = stats[id];
+            map.put(series.getDeviceId() + ":" + series.getChannel(), series);
+        }
+        return map;
+    }
+
+    private int add(int slot, long key, int device, int channel) {
+        int id = size++;
+        if (id == keys.length) {
+            keys = Arrays.copyOf(keys, id * 2);
+            stats = Arrays.copyOf(stats, id * 2);
+        }
+        keys[id] = key;
+        stats[id] = new ChannelStats(devices.name(device), channels.name(channel));
+        slots[slot] = id;
+        if (size * 2 > slots.length) rehash();
+        return id;
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        Arrays.fill(slots, EMPTY);
+        int mask = slots.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = mix(keys[id]) & mask;
+            while (slots[slot] != EMPTY) slot = (slot + 1) & mask;
+            slots[slot] = id;
+        }
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
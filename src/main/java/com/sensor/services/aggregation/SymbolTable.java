@@ -0,0 +1,111 @@
+package com.sensor.services.aggregation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Interns UTF-8 byte sequences as dense integer ids, looked up directly from an input buffer.
+ * Only the first occurrence of a symbol allocates. Not thread-safe.
+ */
+public class SymbolTable {
+
+    private static final int EMPTY = -1;
+
+    private int[] slots;
+    private byte[][] symbols;
+    private int[] hashes;
+    private String[] names;
+    private int size;
+
+    public SymbolTable() {
+        this(64);
+    }
+
+    public SymbolTable(int expectedSymbols) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSymbols, 8) * 2 - 1) << 1;
+        slots = new int[capacity];
+        Arrays.fill(slots, EMPTY);
+        symbols = new byte[capacity / 2][];
+        hashes = new int[capacity / 2];
+        names = new String[capacity / 2];
+    }
+
+    /**
+     * Id of the symbol in buffer[offset, offset + length), assigning the next id if it is new
+     */
+    public int intern(byte[] buffer, int offset, int length) {
+        int hash = hash(buffer, offset, length);
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (true) {
+            int id = slots[slot];
+            if (id == EMPTY) {
+                return add(slot, hash, buffer, offset, length);
+            }
+            if (hashes[id] == hash
+                    && Arrays.equals(symbols[id], 0, symbols[id].length, buffer, offset, offset + length)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Id of an already decoded symbol
+     */
+    public int intern(String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int id = intern(bytes, 0, bytes.length);
+        if (names[id] == null) names[id] = name;
+        return id;
+    }
+
+    /**
+     * Decoded symbol; the String is created once per id
+     */
+    public String name(int id) {
+        String name = names[id];
+        if (name == null) {
+            name = new String(symbols[id], StandardCharsets.UTF_8);
+            names[id] = name;
+        }
+        return name;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int add(int slot, int hash, byte[] buffer, int offset, int length) {
+        int id = size++;
+        if (id == symbols.length) {
+            symbols = Arrays.copyOf(symbols, id * 2);
+            hashes = Arrays.copyOf(hashes, id * 2);
+            names = Arrays.copyOf(names, id * 2);
+        }
+        symbols[id] = Arrays.copyOfRange(buffer, offset, offset + length);
+        hashes[id] = hash;
+        slots[slot] = id;
+        if (size * 2 > slots.length) rehash();
+        return id;
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        Arrays.fill(slots, EMPTY);
+        int mask = slots.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hashes[id] & mask;
+            while (slots[slot] != EMPTY) slot = (slot + 1) & mask;
+            slots[slot] = id;
+        }
+    }
+
+    private static int hash(byte[] buffer, int offset, int length) {
+        int h = 1;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            h = 31 * h + buffer[i];
+        }
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,240 @@
+package com.sensor.services.events;
+
+import com.sensor.dto.response.JobEvent;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * In-process publish/subscribe of job events, keyed by upload ID.
+ * Publishing only enqueues: every subscription has its own bounded queue, drained in publish
+ * order by a small pool of delivery threads, so a slow subscriber never stalls a parse worker
+ * or the other subscribers. Progress events of a job are coalesced while they wait, keeping
+ * only the latest. A subscription holds no thread while idle.
+ */
+public class JobEventBus {
+
+    private static final int DELIVERY_THREADS = 4;
+    // events one subscription delivers before yielding its delivery thread to the others
+    private static final int DELIVERY_BATCH = 16;
+    // status events are few per job, so only a subscriber that stopped reading gets this far behind
+    private static final int MAX_PENDING = 1024;
+    // room reserved per subscribed job: its snapshot and the status changes that can follow it
+    private static final int EVENTS_PER_JOB = 4;
+
+    private final Map<String, Set<Subscription>> subscribers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "job-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService delivery;
+
+    public JobEventBus() {
+        this(DELIVERY_THREADS);
+    }
+
+    public JobEventBus(int deliveryThreads) {
+        AtomicInteger threads = new AtomicInteger();
+        this.delivery = Executors.newFixedThreadPool(deliveryThreads, task -> {
+            Thread thread = new Thread(task, "job-events-delivery-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Deliver events of the given jobs to the listener until the subscription is closed
+     */
+    public Subscription subscribe(Collection<String> uploadIds, Consumer<JobEvent> listener) {
+        return subscribe(uploadIds, listener, () -> { });
+    }
+
+    /**
+     * Like {@link #subscribe(Collection, Consumer)}; if the listener falls so far behind that its
+     * events are dropped, the subscription is closed and onOverflow runs on a delivery thread
+     * after the last event the listener received
+     */
+    public Subscription subscribe(Collection<String> uploadIds, Consumer<JobEvent> listener, Runnable onOverflow) {
+        Subscription subscription = new Subscription(List.copyOf(uploadIds), listener, onOverflow);
+        for (String uploadId : subscription.uploadIds) {
+            subscribers.compute(uploadId, (id, set) -> {
+                if (set == null) set = ConcurrentHashMap.newKeySet();
+                set.add(subscription);
+                return set;
+            });
+        }
+        return subscription;
+    }
+
+    /**
+     * Cheap check so publishers can skip building events nobody listens to
+     */
+    public boolean hasSubscribers(String uploadId) {
+        return subscribers.containsKey(uploadId);
+    }
+
+    public Set<String> subscribedJobs() {
+        return subscribers.keySet();
+    }
+
+    public void publish(JobEvent event) {
+        Set<Subscription> listeners = subscribers.get(event.getUploadId());
+        if (listeners == null) return;
+        for (Subscription subscription : listeners) {
+            // progress is not ordered with the initial snapshot, so it waits until the snapshot is out
+            if (event.getType() == JobEvent.Type.PROGRESS && !subscription.started) continue;
+            subscription.enqueue(event);
+        }
+    }
+
+    /**
+     * Deliver an event to one subscription only, ordered with the events already published
+     */
+    public void publish(Subscription subscription, JobEvent event) {
+        subscription.enqueue(event);
+    }
+
+    /**
+     * Run a task on the event bus thread at a fixed rate, e.g. to publish progress
+     */
+    public void every(Duration interval, Runnable task) {
+        long millis = Math.max(interval.toMillis(), 10);
+        scheduler.scheduleAtFixedRate(task, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the event bus threads; undelivered events are dropped
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        delivery.shutdownNow();
+    }
+
+    public final class Subscription implements AutoCloseable {
+        private final List<String> uploadIds;
+        private final Consumer<JobEvent> listener;
+        private final Runnable onOverflow;
+        private final int capacity;
+        // guarded by this; a queued progress event stands for the latest one of its job
+        private final Deque<JobEvent> pending = new ArrayDeque<>();
+        private final Map<String, JobEvent> latestProgress = new HashMap<>();
+        private boolean draining;
+        private boolean overflowed;
+        private volatile boolean started;
+        private volatile boolean closed;
+
+        private Subscription(List<String> uploadIds, Consumer<JobEvent> listener, Runnable onOverflow) {
+            this.uploadIds = uploadIds;
+            this.listener = listener;
+            this.onOverflow = onOverflow;
+            // the initial snapshots always fit, however many jobs are subscribed
+            this.capacity = MAX_PENDING + EVENTS_PER_JOB * uploadIds.size();
+        }
+
+        /**
+         * Called once the subscriber's initial events are enqueued; progress events follow from here on
+         */
+        public void start() {
+            started = true;
+        }
+
+        private void enqueue(JobEvent event) {
+            if (closed) return;
+            synchronized (this) {
+                if (closed) return;
+                if (event.getType() == JobEvent.Type.PROGRESS
+                        && latestProgress.put(event.getUploadId(), event) != null) {
+                    return; // replaces the progress event that is already waiting
+                }
+                if (pending.size() >= capacity) {
+                    overflowed();
+                } else {
+                    pending.addLast(event);
+                }
+                if (draining) return;
+                draining = true;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            try {
+                delivery.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                closed = true; // the bus is shutting down
+            }
+        }
+
+        private void drain() {
+            for (int delivered = 0; delivered < DELIVERY_BATCH; delivered++) {
+                JobEvent event;
+                synchronized (this) {
+                    event = pending.pollFirst();
+                    if (event == null) {
+                        draining = false;
+                        if (!overflowed) return;
+                    } else if (event.getType() == JobEvent.Type.PROGRESS) {
+                        event = latestProgress.remove(event.getUploadId());
+                    }
+                }
+                if (event == null) {
+                    notifyOverflow();
+                    return;
+                }
+                deliver(event);
+            }
+            schedule(); // more waiting: requeue behind the other subscriptions
+        }
+
+        private void deliver(JobEvent event) {
+            if (closed) return;
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                close(); // a broken subscriber must not stop delivery to the others
+            }
+        }
+
+        // called holding the lock; the drain that follows runs the overflow callback
+        private void overflowed() {
+            overflowed = true;
+            pending.clear();
+            latestProgress.clear();
+            close();
+        }
+
+        private void notifyOverflow() {
+            try {
+                onOverflow.run();
+            } catch (RuntimeException e) {
+                // the subscription is already closed; nothing is left to deliver to
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            for (String uploadId : uploadIds) {
+                subscribers.computeIfPresent(uploadId, (id, set) -> {
+                    set.remove(this);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+        }
+    }
+}
@@ -1,21 +1,66 @@
 package com.sensor.services.implementations;
 
+import com.sensor.config.ProcessingProperties;
 import com.sensor.dto.UploadJob;
+import com.sensor.dto.response.AggregateResponse;
 import com.sensor.dto.response.ChannelStats;
+import com.sensor.dto.response.JobEvent;
+import com.sensor.dto.response.JobPage;
+import com.sensor.dto.response.JobProgress;
 import com.sensor.dto.response.ResultResponse;
 import com.sensor.dto.response.SensorSample;
+import com.sensor.dto.response.SeriesRollup;
+import com.sensor.dto.response.SeriesStatistics;
 import com.sensor.dto.response.StatusResponse;
+import com.sensor.exception.UploadExpiredException;
+import com.sensor.services.aggregation.PartialResults;
+import com.sensor.services.aggregation.ResultAggregator;
+import com.sensor.services.aggregation.ResultIndex;
+import com.sensor.services.aggregation.SeriesRollups;
+import com.sensor.services.results.RenderedResult;
+import com.sensor.services.results.ResultBody;
+import com.sensor.services.results.ResultCache;
+import com.sensor.services.results.ResultJson;
+import com.sensor.services.aggregation.SeriesTable;
+import com.sensor.services.events.JobEventBus;
+import com.sensor.services.parsing.EndOfStreamInputStream;
+import com.sensor.services.parsing.MappedRangeInputStream;
+import com.sensor.services.registry.JobRegistry;
+import com.sensor.services.parsing.NdjsonSampleReader;
+import com.sensor.services.parsing.ProgressInputStream;
+import com.sensor.services.parsing.SensorBatchDecoder;
+import com.sensor.services.parsing.SampleSink;
+import com.sensor.services.parsing.SensorCsvTokenizer;
+import com.sensor.services.parsing.UploadChunker;
+import com.sensor.services.scheduling.AdmissionController;
+import com.sensor.services.scheduling.FairJobQueue;
+import com.sensor.services.scheduling.FifoJobQueue;
+import com.sensor.services.scheduling.JobQueue;
+import com.sensor.services.scheduling.ShortestFirstJobQueue;
+import com.sensor.services.scheduling.UploadScheduler;
+import jakarta.annotation.PreDestroy;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Service for processing sensor data asynchronously
@@ -24,63 +69,951 @@ import java.util.stream.Collectors;
 @Service
 public class ProcessingService {
 
-    private final ConcurrentHashMap<String, UploadJob> jobs = new ConcurrentHashMap<>();
-    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final JobRegistry jobs;
+    private final ProcessingProperties properties;
+    private final ExecutorService executor;
+    private final ForkJoinPool chunkPool;
+    private final ThreadPoolExecutor renderPool;
+    private final AdmissionController admission;
+    private final UploadScheduler scheduler;
+    private final JobEventBus events = new JobEventBus();
+    private final ResultCache resultCache;
+    private final ResultAggregator aggregator;
+    private final SeriesRollups rollups;
+    private final ScheduledExecutorService janitor = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicInteger busyWorkers = new AtomicInteger(0);
     private final AtomicLong totalSamplesReceived = new AtomicLong(0);
     private final AtomicLong totalSamplesProcessed = new AtomicLong(0);
     private final AtomicLong totalInvalidSamples = new AtomicLong(0);
 
+    // rows a parse loop may run past a cancel request
+    private static final int CANCEL_CHECK_ROWS = 8192;
+
+    @Autowired
+    public ProcessingService(ProcessingProperties properties) {
+        this(properties, Clock.systemDefaultZone());
+    }
+
     /**
-     * Submit an upload for asynchronous processing
+     * With the clock that job retention and rollup days are measured by
+     */
+    public ProcessingService(ProcessingProperties properties, Clock clock) {
+        this.properties = properties;
+        this.executor = Executors.newFixedThreadPool(properties.getWorkerThreads());
+        this.chunkPool = new ForkJoinPool(properties.getChunkParallelism());
+        // a full queue makes the request thread render, which throttles batch requests instead of parses;
+        // aggregate queries merge on it too, so neither competes with parses for the chunk pool
+        this.renderPool = new ThreadPoolExecutor(properties.getRenderThreads(), properties.getRenderThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(4 * properties.getRenderThreads()),
+                (task, pool) -> task.run());
+        this.aggregator = new ResultAggregator(renderPool, properties.getRenderThreads());
+        this.admission = new AdmissionController(properties.getMaxQueuedJobs(),
+                properties.getMaxQueuedBytes().toBytes(), properties.getRetryAfter());
+        this.scheduler = new UploadScheduler(this::executeOnWorker, () -> jobQueue(properties));
+        this.jobs = new JobRegistry(properties.getJobTtl(), properties.getMaxRetainedBytes().toBytes(),
+                this::evicted, clock);
+        this.rollups = new SeriesRollups(clock);
+        this.resultCache = new ResultCache(properties.getResultCacheSize().toBytes());
+        events.every(properties.getProgressInterval(), this::publishProgress);
+        long ttlMs = properties.getJobTtl().toMillis();
+        if (ttlMs > 0) {
+            long sweepMs = Math.min(Math.max(ttlMs / 4, 1000), 60_000);
+            janitor.scheduleAtFixedRate(jobs::evictExpired, sweepMs, sweepMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stop the worker, chunk, render, janitor and event threads; running parses are interrupted
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        chunkPool.shutdownNow();
+        renderPool.shutdownNow();
+        janitor.shutdownNow();
+        events.shutdown();
+    }
+
+    private static JobQueue jobQueue(ProcessingProperties properties) {
+        return switch (properties.getSchedulingPolicy()) {
+            case FIFO -> new FifoJobQueue();
+            case FAIR -> new FairJobQueue(properties.getFairQuantum().toBytes(), properties.getUserWeights());
+            case SHORTEST_FIRST -> new ShortestFirstJobQueue(properties.getShortestFirstAging().toBytes());
+        };
+    }
+
+    /**
+     * Submit an upload for asynchronous processing.
+     * In streaming mode the stream is parsed as it is read when a worker is free,
+     * otherwise it is spooled to disk and queued, so heap use stays bounded by the read buffer.
+     * Queued uploads go through admission control and are rejected with
+     * {@link com.sensor.exception.AdmissionRejectedException} once the queue is over budget.
      */
     public String submitUpload(InputStream inputStream) throws IOException {
+        return submitUpload(inputStream, -1);
+    }
+
+    /**
+     * Submit an upload of known size; large uploads are spooled so they can be parsed in parallel chunks
+     */
+    public String submitUpload(InputStream inputStream, long sizeBytes) throws IOException {
+        return submitUpload(inputStream, sizeBytes, false);
+    }
+
+    /**
+     * Submit an upload that may be gzip-compressed; compressed payloads are inflated
+     * on the fly while parsing and are only ever buffered or spooled in compressed form
+     */
+    public String submitUpload(InputStream inputStream, long sizeBytes, boolean gzipped) throws IOException {
+        return submitUpload(inputStream, sizeBytes, gzipped, UploadJob.PayloadFormat.CSV);
+    }
+
+    /**
+     * Submit an upload in the given payload format (CSV or the binary sensor batch format)
+     */
+    public String submitUpload(InputStream inputStream, long sizeBytes, boolean gzipped,
+                               UploadJob.PayloadFormat format) throws IOException {
+        return submitUpload(inputStream, sizeBytes, gzipped, format, null, UploadJob.Priority.NORMAL);
+    }
+
+    /**
+     * Submit an upload on behalf of a user. Queued uploads are scheduled by priority first,
+     * then by the configured policy (fairly across owners by default).
+     */
+    public String submitUpload(InputStream inputStream, long sizeBytes, boolean gzipped,
+                               UploadJob.PayloadFormat format, String owner,
+                               UploadJob.Priority priority) throws IOException {
         String uploadId = UUID.randomUUID().toString();
-        byte[] data = inputStream.readAllBytes();
 
-        UploadJob job = new UploadJob(uploadId, data);
-        jobs.put(uploadId, job);
+        if (!properties.isStreamingEnabled()) {
+            long admitted = admission.admit(sizeBytes);
+            byte[] data;
+            try {
+                data = inputStream.readAllBytes();
+            } catch (IOException e) {
+                admission.release(admitted);
+                throw e;
+            }
+
+            UploadJob job = new UploadJob(uploadId, data);
+            job.setOwner(owner);
+            job.setPriority(priority);
+            job.setSizeBytes(data.length);
+            job.setGzipped(gzipped);
+            job.setFormat(format);
+            jobs.put(job);
+
+            // Process asynchronously, dropping the payload once it has been aggregated
+            scheduler.submit(owner, data.length, priority, dequeued(admitted, () -> {
+                // not retained once the job is running, so it is not counted against the job
+                InputStream payload = new ByteArrayInputStream(job.getRawData());
+                job.setRawData(null);
+                try {
+                    processUpload(job, payloadStream(job, payload));
+                } catch (IOException e) {
+                    failJob(job, e);
+                }
+            }));
+
+            return uploadId;
+        }
+
+        UploadJob job = new UploadJob(uploadId, null);
+        job.setOwner(owner);
+        job.setPriority(priority);
+        job.setSizeBytes(sizeBytes);
+        job.setGzipped(gzipped);
+        job.setFormat(format);
+
+        // Payloads kept for replay must go through the spool
+        boolean retainPayload = properties.getSpoolRetention().toMillis() > 0;
+        boolean direct = !retainPayload && !isChunkable(job, sizeBytes) && tryReserveWorker();
+        long admitted = direct ? 0 : admission.admit(sizeBytes);
+        jobs.put(job);
+
+        if (direct) {
+            // The caller's stream is only valid for the duration of the request,
+            // so wait until the worker has read it to the end, but not for the rest of the parse.
+            // The reserved slot guarantees an idle thread, so the task starts at once
+            // rather than behind queued uploads.
+            CompletableFuture<Void> consumed = new CompletableFuture<>();
+            try {
+                executor.submit(() -> {
+                    try {
+                        processUpload(job, new EndOfStreamInputStream(
+                                payloadStream(job, inputStream), () -> consumed.complete(null)));
+                    } catch (IOException e) {
+                        failJob(job, e);
+                    } catch (RuntimeException | Error e) {
+                        consumed.completeExceptionally(e);
+                        throw e;
+                    } finally {
+                        consumed.complete(null); // the parse stopped before the end of the stream
+                        busyWorkers.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                busyWorkers.decrementAndGet();
+                throw e;
+            }
+            awaitStreamConsumed(consumed);
+        } else {
+            try {
+                job.setSpoolFile(spool(job, inputStream));
+                job.setSizeBytes(Files.size(job.getSpoolFile()));
+            } catch (IOException e) {
+                admission.release(admitted);
+                failJob(job, e);
+                throw e;
+            }
+            scheduler.submit(owner, job.getSizeBytes(), priority, dequeued(admitted, () -> processSpooled(job)));
+        }
+
+        return uploadId;
+    }
+
+    /**
+     * Re-run a finished upload from its retained spool file under a new upload ID
+     */
+    public String replayUpload(String uploadId) throws IOException {
+        UploadJob source = findJob(uploadId);
+        if (source == null) return null;
+
+        Path payload = source.getSpoolFile();
+        if (payload == null || !Files.exists(payload)
+                || source.getStatus() == UploadJob.JobStatus.PENDING
+                || source.getStatus() == UploadJob.JobStatus.PROCESSING) {
+            throw new IllegalArgumentException("Upload payload is not available for replay: " + uploadId);
+        }
 
-        // Process asynchronously
-        executor.submit(() -> processUpload(job));
+        long admitted = admission.admit(Files.size(payload));
+        String replayId = UUID.randomUUID().toString();
+        Path replayFile = Path.of(properties.getSpoolDir()).resolve("upload-" + replayId + spoolSuffix(source));
+        try {
+            // each job owns its own link so retention can expire them independently
+            Files.createLink(replayFile, payload);
+        } catch (UnsupportedOperationException | IOException e) {
+            try {
+                Files.copy(payload, replayFile);
+            } catch (IOException copyFailure) {
+                admission.release(admitted);
+                throw copyFailure;
+            }
+        }
+
+        UploadJob job = new UploadJob(replayId, null);
+        job.setReplayOf(uploadId);
+        job.setOwner(source.getOwner());
+        job.setPriority(source.getPriority());
+        job.setGzipped(source.isGzipped());
+        job.setFormat(source.getFormat());
+        job.setSpoolFile(replayFile);
+        job.setSizeBytes(Files.size(replayFile));
+        jobs.put(job);
+        scheduler.submit(job.getOwner(), job.getSizeBytes(), job.getPriority(), dequeued(admitted, () -> processSpooled(job)));
+
+        return replayId;
+    }
 
+    /**
+     * Open a stream job that stays PROCESSING and accepts appended samples until it is closed
+     */
+    public String openStream(String owner) {
+        String uploadId = UUID.randomUUID().toString();
+        UploadJob job = new UploadJob(uploadId, null);
+        job.setOwner(owner);
+        job.setStream(true);
+        job.setResults(new HashMap<>());
+        job.start();
+        jobs.put(job);
         return uploadId;
     }
 
+    /**
+     * Append one connection's samples to an open stream job. The body is parsed on the calling
+     * thread as it arrives, and statistics are published to the job whenever the parser is about
+     * to wait for more input, so results trail the sender by at most one network read.
+     * Several connections may feed the same stream concurrently.
+     * Returns the counts for this connection, or null when the job does not exist.
+     */
+    public Map<String, Object> appendToStream(String uploadId, InputStream inputStream,
+                                              UploadJob.PayloadFormat format) throws IOException {
+        UploadJob job = findJob(uploadId);
+        if (job == null) return null;
+        if (!job.isStream() || job.getStatus() != UploadJob.JobStatus.PROCESSING) {
+            throw new IllegalArgumentException("Not an open stream: " + uploadId);
+        }
+
+        StreamSink sink = new StreamSink(job);
+        InputStream feed = new PublishingInputStream(inputStream, sink);
+        try {
+            switch (format) {
+                case CSV -> tokenizer().parseStream(feed, sink);
+                case NDJSON -> new NdjsonSampleReader(properties.getReadBufferSize(), maxRecordLength()).parse(feed, sink);
+                case BINARY -> new SensorBatchDecoder(properties.getReadBufferSize()).parse(feed, sink);
+            }
+        } finally {
+            sink.publish();
+        }
+
+        Map<String, Object> counts = new HashMap<>();
+        counts.put("uploadId", uploadId);
+        counts.put("acceptedCount", sink.connectionAccepted);
+        counts.put("rejectedCount", sink.connectionRejected);
+        return counts;
+    }
+
+    /**
+     * Close a stream job; its statistics become final. Returns false when the job does not exist.
+     */
+    public boolean closeStream(String uploadId) {
+        UploadJob job = findJob(uploadId);
+        if (job == null) return false;
+        // under the job lock, so no connection merges into the statistics after they are final
+        synchronized (job) {
+            if (!job.isStream() || !job.complete(job.getResults())) {
+                throw new IllegalArgumentException("Not an open stream: " + uploadId);
+            }
+        }
+        finished(job);
+        return true;
+    }
+
+    /**
+     * The job with this ID, or null when there is none; throws when it existed but has expired
+     */
+    private UploadJob findJob(String uploadId) {
+        UploadJob job = jobs.get(uploadId);
+        if (job == null && jobs.isExpired(uploadId)) {
+            throw new UploadExpiredException("Upload has expired: " + uploadId);
+        }
+        return job;
+    }
+
+    /**
+     * Claim a worker for a direct stream feed if one is idle. Every task handed to the pool holds
+     * a slot from submission until it finishes, so a free slot means no task is waiting for a thread.
+     */
+    private boolean tryReserveWorker() {
+        int busy;
+        do {
+            busy = busyWorkers.get();
+            if (busy >= properties.getWorkerThreads()) return false;
+        } while (!busyWorkers.compareAndSet(busy, busy + 1));
+        return true;
+    }
+
+    /**
+     * Worker task that hands back the upload's admission reservation as soon as it leaves the queue
+     */
+    private Runnable dequeued(long admittedBytes, Runnable work) {
+        return () -> {
+            admission.release(admittedBytes);
+            work.run();
+        };
+    }
+
+    /**
+     * Hand a scheduler task to the pool, holding a worker slot while it waits and runs
+     */
+    private void executeOnWorker(Runnable work) {
+        busyWorkers.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                try {
+                    work.run();
+                } finally {
+                    busyWorkers.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            busyWorkers.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void awaitStreamConsumed(Future<?> consumed) throws IOException {
+        try {
+            consumed.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while streaming upload");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to stream upload", e.getCause());
+        }
+    }
+
+    /**
+     * Copy an upload to the spool directory so it outlives the request
+     */
+    private Path spool(UploadJob job, InputStream inputStream) throws IOException {
+        Path spoolFile = Files.createTempFile(Path.of(properties.getSpoolDir()),
+                "upload-" + job.getUploadId() + "-", spoolSuffix(job));
+        try {
+            Files.copy(inputStream, spoolFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(spoolFile);
+            throw e;
+        }
+        return spoolFile;
+    }
+
+    private String spoolSuffix(UploadJob job) {
+        String suffix = job.getFormat() == UploadJob.PayloadFormat.BINARY ? ".snb" : ".csv";
+        return job.isGzipped() ? suffix + ".gz" : suffix;
+    }
+
+    /**
+     * Only uncompressed CSV uploads can be split, since a gzip stream must be inflated from the start
+     */
+    private boolean isChunkable(UploadJob job, long sizeBytes) {
+        return !job.isGzipped()
+                && job.getFormat() == UploadJob.PayloadFormat.CSV
+                && properties.getParser() == ProcessingProperties.Parser.BYTE_TOKENIZER
+                && sizeBytes >= properties.getParallelThreshold().toBytes();
+    }
+
+    /**
+     * Raw upload bytes as CSV, inflating gzip payloads while they are read.
+     * Progress counts the bytes as received, so it compares to the upload size.
+     */
+    private InputStream payloadStream(UploadJob job, InputStream raw) throws IOException {
+        InputStream counted = new ProgressInputStream(raw, job.getBytesProcessed());
+        return job.isGzipped() ? new GZIPInputStream(counted, properties.getReadBufferSize()) : counted;
+    }
+
+    /**
+     * Process a spooled upload through a memory mapping, then release the spool file
+     */
+    private void processSpooled(UploadJob job) {
+        try (FileChannel channel = FileChannel.open(job.getSpoolFile(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (isChunkable(job, size)) {
+                processChunked(job, channel, size);
+            } else {
+                processUpload(job, payloadStream(job, new MappedRangeInputStream(channel, 0, size)));
+            }
+        } catch (IOException | RuntimeException e) {
+            failJob(job, e);
+        } finally {
+            releaseSpool(job);
+        }
+    }
+
+    /**
+     * Delete the spool file now, or after the configured retention period
+     */
+    private void releaseSpool(UploadJob job) {
+        long retentionMs = properties.getSpoolRetention().toMillis();
+        if (retentionMs > 0) {
+            janitor.schedule(() -> deleteSpool(job), retentionMs, TimeUnit.MILLISECONDS);
+        } else {
+            deleteSpool(job);
+        }
+    }
+
+    private void evicted(UploadJob job) {
+        deleteSpool(job);
+        resultCache.invalidate(job.getUploadId());
+    }
+
+    private void deleteSpool(UploadJob job) {
+        Path spoolFile = job.getSpoolFile();
+        job.setSpoolFile(null);
+        if (spoolFile == null) return;
+        try {
+            Files.deleteIfExists(spoolFile);
+        } catch (IOException ignored) {
+            // left for the OS to clean up with the temp directory
+        }
+    }
+
     /**
      * Process uploaded sensor data in background
      */
-    private void processUpload(UploadJob job) {
-        job.setStatus(UploadJob.JobStatus.PROCESSING);
-        job.setStartTime(LocalDateTime.now());
+    private void processUpload(UploadJob job, InputStream inputStream) {
+        if (!startJob(job)) return;
+
+        try {
+            Map<String, ChannelStats> statsMap;
+            if (job.getFormat() == UploadJob.PayloadFormat.BINARY) {
+                statsMap = decodeBatch(job, inputStream);
+            } else if (properties.getParser() == ProcessingProperties.Parser.BYTE_TOKENIZER) {
+                statsMap = tokenize(job, inputStream);
+            } else {
+                statsMap = parseCsv(job, inputStream);
+            }
+
+            completeJob(job, statsMap);
+
+        } catch (CancellationException e) {
+            cancelledJob(job);
+        } catch (IOException | RuntimeException e) {
+            failJob(job, e);
+        } catch (Error e) {
+            failJob(job, e); // still a final status, so the job is retired and its subscribers hear of it
+            throw e;
+        }
+    }
+
+    /**
+     * Split a spooled upload at line boundaries and parse the chunks in parallel,
+     * merging the per-chunk statistics once all of them are done. The split does not track
+     * quotes, so when a chunk ends inside a quoted field its successors did not start at a
+     * record: their work is discarded and the upload is parsed sequentially instead.
+     */
+    private void processChunked(UploadJob job, FileChannel channel, long size) {
+        if (!startJob(job)) return;
+
+        try {
+            SensorCsvTokenizer header = tokenizer();
+            long bodyStart = header.parseHeader(new MappedRangeInputStream(channel, 0, size));
+            List<long[]> chunks = bodyStart < 0
+                    ? List.of()
+                    : UploadChunker.split(channel, bodyStart, size, properties.getChunkSize().toBytes());
+
+            List<Callable<StatsSink>> tasks = new ArrayList<>(chunks.size());
+            for (int i = 0; i < chunks.size(); i++) {
+                long[] chunk = chunks.get(i);
+                boolean last = i == chunks.size() - 1;
+                tasks.add(() -> {
+                    StatsSink sink = new StatsSink(job);
+                    InputStream body = new ProgressInputStream(
+                            new MappedRangeInputStream(channel, chunk[0], chunk[1]), job.getBytesProcessed());
+                    SensorCsvTokenizer tokenizer = tokenizer();
+                    tokenizer.parseBody(body, header, sink);
+                    sink.flushCounts();
+                    sink.misaligned = !last && tokenizer.endedInQuotedField();
+                    return sink;
+                });
+            }
+
+            List<StatsSink> sinks = new ArrayList<>(tasks.size());
+            for (Future<StatsSink> done : chunkPool.invokeAll(tasks)) {
+                sinks.add(done.get());
+            }
+
+            Map<String, ChannelStats> statsMap;
+            if (sinks.stream().anyMatch(sink -> sink.misaligned)) {
+                discardChunks(job, sinks, size - bodyStart);
+                statsMap = tokenize(job, payloadStream(job, new MappedRangeInputStream(channel, 0, size)));
+            } else {
+                statsMap = mergeChunks(sinks);
+            }
+
+            completeJob(job, statsMap);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failJob(job, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException) {
+                cancelledJob(job);
+            } else {
+                failJob(job, e.getCause());
+            }
+        } catch (CancellationException e) {
+            cancelledJob(job);
+        } catch (IOException | RuntimeException e) {
+            failJob(job, e);
+        } catch (Error e) {
+            failJob(job, e);
+            throw e;
+        }
+    }
+
+    private SensorCsvTokenizer tokenizer() {
+        return new SensorCsvTokenizer(properties.getReadBufferSize(), maxRecordLength());
+    }
+
+    private int maxRecordLength() {
+        return (int) Math.min(properties.getMaxRecordSize().toBytes(), Integer.MAX_VALUE - 8);
+    }
+
+    private static Map<String, ChannelStats> mergeChunks(List<StatsSink> sinks) {
+        Map<String, ChannelStats> statsMap = new HashMap<>();
+        for (StatsSink sink : sinks) {
+            sink.series.toMap().forEach((key, stats) -> statsMap.merge(key, stats, (merged, next) -> {
+                merged.merge(next);
+                return merged;
+            }));
+        }
+        return statsMap;
+    }
+
+    /**
+     * Take back the counts, progress and partial statistics a discarded chunked parse published
+     */
+    private void discardChunks(UploadJob job, List<StatsSink> sinks, long bodyBytes) {
+        for (StatsSink sink : sinks) {
+            job.addCounts(-sink.totalAccepted, -sink.totalRejected);
+            totalSamplesProcessed.addAndGet(-sink.totalAccepted);
+            totalInvalidSamples.addAndGet(-sink.totalRejected);
+            totalSamplesReceived.addAndGet(-(sink.totalAccepted + sink.totalRejected));
+        }
+        job.getBytesProcessed().add(-bodyBytes);
+        job.setPartialResults(new PartialResults());
+    }
+
+    /**
+     * Aggregate an upload with the byte-level tokenizer
+     */
+    private Map<String, ChannelStats> tokenize(UploadJob job, InputStream inputStream) throws IOException {
+        StatsSink sink = new StatsSink(job);
+        tokenizer().parse(inputStream, sink);
+        sink.flushCounts();
+        return sink.series.toMap();
+    }
+
+    /**
+     * Aggregate an upload in the binary sensor batch format
+     */
+    private Map<String, ChannelStats> decodeBatch(UploadJob job, InputStream inputStream) throws IOException {
+        StatsSink sink = new StatsSink(job);
+        try {
+            new SensorBatchDecoder(properties.getReadBufferSize()).parse(inputStream, sink);
+        } finally {
+            sink.flushCounts();
+        }
+        return sink.series.toMap();
+    }
+
+    /**
+     * Aggregate an upload with commons-csv
+     */
+    private Map<String, ChannelStats> parseCsv(UploadJob job, InputStream inputStream) throws IOException {
         Map<String, ChannelStats> statsMap = new HashMap<>();
+        PartialResults partial = job.getPartialResults();
+        int slot = partial.newSlot();
+        long snapshotNanos = properties.getProgressInterval().toNanos();
+        long lastSnapshot = System.nanoTime();
 
-        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(job.getRawData()));
+        try (Reader reader = new InputStreamReader(
+                new BufferedInputStream(inputStream, properties.getReadBufferSize()), StandardCharsets.UTF_8);
              CSVParser parser = new CSVParser(reader, CSVFormat.DEFAULT.withFirstRecordAsHeader())) {
 
             for (CSVRecord record : parser) {
+                if (record.getRecordNumber() % CANCEL_CHECK_ROWS == 0) {
+                    checkCancelled(job);
+                    if (System.nanoTime() - lastSnapshot >= snapshotNanos) {
+                        partial.publish(slot, statsMap.values());
+                        lastSnapshot = System.nanoTime();
+                    }
+                }
                 SensorSample sample = parseSample(record);
                 if (sample != null) {
                     String key = sample.getDeviceId() + ":" + sample.getChannel();
                     statsMap.computeIfAbsent(key, k -> new ChannelStats(sample.getDeviceId(), sample.getChannel()))
                             .addValue(sample.getValue());
-                    job.incrementAccepted();
-                    totalSamplesProcessed.incrementAndGet();
+                    recordAccepted(job);
                 } else {
-                    job.incrementRejected();
-                    totalInvalidSamples.incrementAndGet();
+                    recordRejected(job);
                 }
-                totalSamplesReceived.incrementAndGet();
             }
+        }
+        return statsMap;
+    }
 
-            job.setResults(statsMap);
-            job.setStatus(UploadJob.JobStatus.COMPLETED);
-            job.setEndTime(LocalDateTime.now());
+    private void recordAccepted(UploadJob job) {
+        job.incrementAccepted();
+        totalSamplesProcessed.incrementAndGet();
+        totalSamplesReceived.incrementAndGet();
+    }
 
-        } catch (IOException e) {
-            job.setStatus(UploadJob.JobStatus.FAILED);
-            job.setErrorMessage(e.getMessage());
-            job.setEndTime(LocalDateTime.now());
+    private void recordRejected(UploadJob job) {
+        job.incrementRejected();
+        totalInvalidSamples.incrementAndGet();
+        totalSamplesReceived.incrementAndGet();
+    }
+
+    /**
+     * Aggregates tokenizer output into per device/channel statistics.
+     * Row counts are published to the job and global totals in batches, and a copy of the
+     * statistics goes to the job's partial results at most once per progress interval.
+     */
+    private class StatsSink implements SampleSink {
+        private static final int COUNT_FLUSH_ROWS = CANCEL_CHECK_ROWS;
+
+        private final UploadJob job;
+        private final SeriesTable series = new SeriesTable();
+        private final PartialResults partial;
+        private final int slot;
+        private final long snapshotNanos = properties.getProgressInterval().toNanos();
+        private long lastSnapshot = System.nanoTime();
+        private long accepted;
+        private long rejected;
+        private long totalAccepted;
+        private long totalRejected;
+        // set by a chunked parse whose chunk ended inside a quoted field
+        private boolean misaligned;
+
+        StatsSink(UploadJob job) {
+            this.job = job;
+            this.partial = job.getPartialResults();
+            this.slot = partial.newSlot();
         }
+
+        @Override
+        public void accept(long timestamp, byte[] buffer, int deviceOffset, int deviceLength,
+                           int channelOffset, int channelLength, double value) {
+            series.stats(buffer, deviceOffset, deviceLength, channelOffset, channelLength).addValue(value);
+            if (++accepted + rejected == COUNT_FLUSH_ROWS) flushCounts();
+        }
+
+        @Override
+        public void reject() {
+            if (accepted + ++rejected == COUNT_FLUSH_ROWS) flushCounts();
+        }
+
+        void flushCounts() {
+            checkCancelled(job);
+            job.addCounts(accepted, rejected);
+            totalSamplesProcessed.addAndGet(accepted);
+            totalInvalidSamples.addAndGet(rejected);
+            totalSamplesReceived.addAndGet(accepted + rejected);
+            totalAccepted += accepted;
+            totalRejected += rejected;
+            accepted = 0;
+            rejected = 0;
+            if (System.nanoTime() - lastSnapshot >= snapshotNanos) {
+                partial.publish(slot, series);
+                lastSnapshot = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Aggregates one stream connection locally and folds the changes into the job's shared
+     * statistics on {@link #publish()}. Only series touched since the last publish are merged,
+     * and each local series keeps a reference to its shared counterpart, so publishing costs
+     * O(series touched) under the job lock and does not allocate for known series.
+     */
+    private class StreamSink implements SampleSink {
+        private static final int PUBLISH_ROWS = 8192;
+
+        private final UploadJob job;
+        private final SeriesTable series = new SeriesTable();
+        private ChannelStats[] shared = new ChannelStats[64];
+        private int[] dirty = new int[64];
+        private int dirtyCount;
+        private long accepted;
+        private long rejected;
+        long connectionAccepted;
+        long connectionRejected;
+
+        StreamSink(UploadJob job) {
+            this.job = job;
+        }
+
+        @Override
+        public void accept(long timestamp, byte[] buffer, int deviceOffset, int deviceLength,
+                           int channelOffset, int channelLength, double value) {
+            int id = series.seriesId(buffer, deviceOffset, deviceLength, channelOffset, channelLength);
+            ChannelStats stats = series.get(id);
+            if (stats.getCount() == 0) {
+                if (dirtyCount == dirty.length) dirty = Arrays.copyOf(dirty, dirtyCount * 2);
+                dirty[dirtyCount++] = id;
+            }
+            stats.addValue(value);
+            if (++accepted + rejected == PUBLISH_ROWS) publish();
+        }
+
+        @Override
+        public void reject() {
+            if (accepted + ++rejected == PUBLISH_ROWS) publish();
+        }
+
+        void publish() {
+            if (accepted + rejected == 0) return;
+            synchronized (job) {
+                if (job.getStatus() != UploadJob.JobStatus.PROCESSING) {
+                    throw new IllegalArgumentException("Stream was closed: " + job.getUploadId());
+                }
+                Map<String, ChannelStats> results = job.getResults();
+                for (int i = 0; i < dirtyCount; i++) {
+                    int id = dirty[i];
+                    ChannelStats delta = series.get(id);
+                    if (id >= shared.length) shared = Arrays.copyOf(shared, Math.max(shared.length * 2, id + 1));
+                    if (shared[id] == null) {
+                        shared[id] = results.computeIfAbsent(delta.getDeviceId() + ":" + delta.getChannel(),
+                                key -> new ChannelStats(delta.getDeviceId(), delta.getChannel()));
+                    }
+                    shared[id].merge(delta);
+                }
+                job.addCounts(accepted, rejected);
+            }
+            for (int i = 0; i < dirtyCount; i++) {
+                series.get(dirty[i]).reset();
+            }
+            dirtyCount = 0;
+            totalSamplesProcessed.addAndGet(accepted);
+            totalInvalidSamples.addAndGet(rejected);
+            totalSamplesReceived.addAndGet(accepted + rejected);
+            connectionAccepted += accepted;
+            connectionRejected += rejected;
+            accepted = 0;
+            rejected = 0;
+        }
+    }
+
+    /**
+     * Publishes a stream's pending statistics before any read that would block on the network
+     */
+    private static final class PublishingInputStream extends FilterInputStream {
+        private final StreamSink sink;
+
+        PublishingInputStream(InputStream in, StreamSink sink) {
+            super(in);
+            this.sink = sink;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (in.available() == 0) sink.publish();
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (in.available() == 0) sink.publish();
+            return in.read(b, off, len);
+        }
+    }
+
+    /**
+     * Move a job from PENDING to PROCESSING; false when it was cancelled while queued
+     */
+    private boolean startJob(UploadJob job) {
+        // set before the transition, so whoever sees PROCESSING also sees the partial results
+        job.setPartialResults(new PartialResults());
+        if (!job.start()) {
+            job.setPartialResults(null);
+            return false;
+        }
+        jobs.statusChanged(job);
+        publishStatus(job);
+        return true;
+    }
+
+    /**
+     * Publish a job's results, unless it was cancelled after its last cancellation check
+     */
+    private void completeJob(UploadJob job, Map<String, ChannelStats> statsMap) {
+        if (job.isCancelRequested()) {
+            cancelledJob(job);
+            return;
+        }
+        if (job.complete(statsMap)) {
+            job.setPartialResults(null);
+            finished(job);
+        }
+    }
+
+    /**
+     * Called from parse loops at least every {@link #CANCEL_CHECK_ROWS} rows
+     */
+    private static void checkCancelled(UploadJob job) {
+        if (job.isCancelRequested()) {
+            throw new CancellationException("Job cancelled: " + job.getUploadId());
+        }
+    }
+
+    private void cancelledJob(UploadJob job) {
+        if (job.cancel()) {
+            job.setPartialResults(null);
+            finished(job);
+        }
+    }
+
+    private void failJob(UploadJob job, Throwable e) {
+        if (job.fail(e.getMessage() != null ? e.getMessage() : e.toString())) {
+            job.setPartialResults(null);
+            finished(job);
+        }
+    }
+
+    /**
+     * After a transition to a final status: notify subscribers and start retention accounting
+     */
+    private void finished(UploadJob job) {
+        // a replay re-reads samples of an upload the rollups already hold
+        if (job.getStatus() == UploadJob.JobStatus.COMPLETED && job.getReplayOf() == null) {
+            rollups.add(job.getResults().values()); // before the registry may evict the job
+        }
+        jobs.statusChanged(job);
+        publishStatus(job);
+        jobs.finished(job);
+    }
+
+    /**
+     * Subscribe to status transitions and progress of the given jobs. The listener first gets
+     * each job's current status, then every transition and a progress event per progress
+     * interval while a job is processing. Events are delivered in order, off the caller's thread;
+     * progress events a slow listener has not taken yet are coalesced into the latest one.
+     * Returns null when any of the jobs does not exist.
+     */
+    public JobEventBus.Subscription subscribe(List<String> uploadIds, Consumer<JobEvent> listener) {
+        return subscribe(uploadIds, listener, () -> { });
+    }
+
+    /**
+     * Like {@link #subscribe(List, Consumer)}; onOverflow runs once the listener fell so far
+     * behind that its events were dropped and the subscription was closed
+     */
+    public JobEventBus.Subscription subscribe(List<String> uploadIds, Consumer<JobEvent> listener,
+                                              Runnable onOverflow) {
+        if (uploadIds.size() > properties.getMaxBatchSize()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxBatchSize() + " upload ids per event stream");
+        }
+        List<UploadJob> subscribed = new ArrayList<>(uploadIds.size());
+        for (String uploadId : uploadIds) {
+            UploadJob job = findJob(uploadId);
+            if (job == null) return null;
+            subscribed.add(job);
+        }
+        JobEventBus.Subscription subscription = events.subscribe(uploadIds, listener, onOverflow);
+        for (UploadJob job : subscribed) {
+            // transition events are enqueued under the job lock, so the current status is never overtaken
+            synchronized (job) {
+                events.publish(subscription, statusEvent(job, JobEvent.Type.STATUS));
+            }
+        }
+        subscription.start();
+        return subscription;
+    }
+
+    /**
+     * Called after every status transition. The event reflects the job's state when it is
+     * enqueued under the job lock, so it can never overtake a newer subscriber snapshot.
+     */
+    private void publishStatus(UploadJob job) {
+        if (!events.hasSubscribers(job.getUploadId())) return;
+        synchronized (job) {
+            events.publish(statusEvent(job, JobEvent.Type.STATUS));
+        }
+    }
+
+    /**
+     * Progress of the processing jobs that have subscribers, run on the event bus thread
+     */
+    private void publishProgress() {
+        for (String uploadId : events.subscribedJobs()) {
+            UploadJob job = jobs.get(uploadId);
+            if (job != null && job.getStatus() == UploadJob.JobStatus.PROCESSING) {
+                events.publish(statusEvent(job, JobEvent.Type.PROGRESS));
+            }
+        }
+    }
+
+    private JobEvent statusEvent(UploadJob job, JobEvent.Type type) {
+        JobEvent event = new JobEvent(type, job.getUploadId(), job.getStatus().toString());
+        event.setAcceptedCount(job.getAcceptedCount());
+        event.setRejectedCount(job.getRejectedCount());
+        event.setErrorMessage(job.getErrorMessage());
+        if (job.getStatus() == UploadJob.JobStatus.PROCESSING) {
+            event.setProgress(progressOf(job));
+        }
+        return event;
     }
 
     /**
@@ -108,91 +1041,420 @@ public class ProcessingService {
     }
 
     /**
-     * Get processing results for an upload
+     * Get processing results for an upload. While a job is processing, the statistics are
+     * its latest partial snapshot and the response carries its progress.
+     * Device and channel selectors are exact names or prefixes ending in '*'; a null or empty
+     * list matches everything. Completed jobs answer from their result index, so a filtered
+     * query costs O(matching series).
      */
-    public ResultResponse getResults(String uploadId, String deviceId, String channel) {
-        UploadJob job = jobs.get(uploadId);
+    public ResultResponse getResults(String uploadId, List<String> deviceIds, List<String> channels) {
+        UploadJob job = findJob(uploadId);
         if (job == null) return null;
 
         ResultResponse response = new ResultResponse();
         response.setUploadId(uploadId);
-        response.setStatus(job.getStatus().toString());
-        response.setAcceptedCount(job.getAcceptedCount());
-        response.setRejectedCount(job.getRejectedCount());
-        response.setErrorMessage(job.getErrorMessage());
-        response.setStartTime(job.getStartTime());
-        response.setEndTime(job.getEndTime());
-
-        if (job.getStatus() == UploadJob.JobStatus.COMPLETED && job.getResults() != null) {
-            List<Map<String, Object>> statistics = new ArrayList<>();
-            for (ChannelStats stats : job.getResults().values()) {
-                if ((deviceId == null || deviceId.equals(stats.getDeviceId())) &&
-                        (channel == null || channel.equals(stats.getChannel()))) {
-                    statistics.add(stats.toMap());
+
+        // merged outside the job lock; each slot is an immutable copy published by its parse thread
+        PartialResults partial = job.getPartialResults();
+        if (partial != null) {
+            response.setStatistics(filterStatistics(partial.snapshot().values(), deviceIds, channels));
+        }
+
+        // open streams are updated in place, so read a consistent snapshot under the job lock
+        synchronized (job) {
+            response.setStatus(job.getStatus().toString());
+            response.setAcceptedCount(job.getAcceptedCount());
+            response.setRejectedCount(job.getRejectedCount());
+            response.setErrorMessage(job.getErrorMessage());
+            response.setStartTime(job.getStartTime());
+            response.setEndTime(job.getEndTime());
+
+            boolean live = job.isStream() && job.getStatus() == UploadJob.JobStatus.PROCESSING;
+            if (job.getStatus() == UploadJob.JobStatus.COMPLETED && job.getResultIndex() != null) {
+                List<SeriesStatistics> statistics = new ArrayList<>();
+                for (ChannelStats stats : job.getResultIndex().query(deviceIds, channels)) {
+                    statistics.add(stats.toStatistics());
                 }
+                response.setStatistics(statistics);
+            } else if (live && job.getResults() != null) {
+                response.setStatistics(filterStatistics(job.getResults().values(), deviceIds, channels));
+            } else if (job.getStatus() != UploadJob.JobStatus.PROCESSING) {
+                response.setStatistics(null); // finished between the snapshot and the lock
+            }
+            if (job.getStatus() == UploadJob.JobStatus.PROCESSING) {
+                response.setProgress(progressOf(job));
             }
-            response.setStatistics(statistics);
         }
 
         return response;
     }
 
+    /**
+     * Results of a completed job as a JSON body, or null when the job is unknown or not COMPLETED
+     * (those are answered by {@link #getResults}). Results with fewer series than the streaming
+     * threshold are rendered once and cached as a {@link RenderedResult}; larger ones are written
+     * straight from the result index on each request, so a response never holds the whole document.
+     */
+    public ResultBody getResultBody(String uploadId, List<String> deviceIds, List<String> channels) {
+        UploadJob job = findJob(uploadId);
+        if (job == null || job.getStatus() != UploadJob.JobStatus.COMPLETED) return null;
+
+        RenderedResult rendered = resultCache.get(uploadId, deviceIds, channels);
+        if (rendered != null) return rendered;
+
+        ResultIndex index = job.getResultIndex();
+        if (index.count(deviceIds, channels) >= properties.getStreamResultsThreshold()) {
+            return out -> ResultJson.write(job, index.series(deviceIds, channels), out);
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try {
+            ResultJson.write(job, index.query(deviceIds, channels), body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        rendered = new RenderedResult(body.toByteArray());
+        resultCache.put(uploadId, deviceIds, channels, rendered);
+        if (jobs.get(uploadId) == null) {
+            resultCache.invalidate(uploadId); // evicted or deleted while rendering
+        }
+        return rendered;
+    }
+
+    /**
+     * Results of many uploads as one batch document, with a per-upload error for ids that are
+     * unknown or expired. Uploads are resolved and rendered in parallel on the render pool, a
+     * bounded window ahead of the writer, and written in request order; results over the
+     * streaming threshold are written straight from their index when their turn comes.
+     * Parses keep the chunk pool to themselves.
+     */
+    public ResultBody getBatchResults(List<String> uploadIds, List<String> deviceIds, List<String> channels) {
+        if (uploadIds == null || uploadIds.isEmpty()) {
+            throw new IllegalArgumentException("No upload ids given");
+        }
+        if (uploadIds.size() > properties.getMaxBatchSize()) {
+            throw new IllegalArgumentException("At most " + properties.getMaxBatchSize() + " upload ids per batch");
+        }
+        int window = 2 * renderPool.getMaximumPoolSize();
+        return out -> {
+            Iterator<String> ids = uploadIds.iterator();
+            Deque<CompletableFuture<ResultBody>> ahead = new ArrayDeque<>();
+            Iterator<ResultBody> elements = new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    while (ahead.size() < window && ids.hasNext()) {
+                        String uploadId = ids.next();
+                        ahead.add(CompletableFuture.supplyAsync(() -> batchElement(uploadId, deviceIds, channels), renderPool));
+                    }
+                    return !ahead.isEmpty();
+                }
+
+                @Override
+                public ResultBody next() {
+                    if (!hasNext()) throw new NoSuchElementException();
+                    return ahead.poll().join();
+                }
+            };
+            ResultJson.writeBatch(elements, out);
+        };
+    }
+
+    private ResultBody batchElement(String uploadId, List<String> deviceIds, List<String> channels) {
+        try {
+            UploadJob job = findJob(uploadId);
+            if (job != null && job.getStatus() == UploadJob.JobStatus.COMPLETED) {
+                ResultIndex index = job.getResultIndex();
+                if (index.count(deviceIds, channels) >= properties.getStreamResultsThreshold()) {
+                    return out -> ResultJson.writeData(job, index.series(deviceIds, channels), out);
+                }
+                return prerendered(out -> ResultJson.writeData(job, index.query(deviceIds, channels), out));
+            }
+            ResultResponse response = job != null ? getResults(uploadId, deviceIds, channels) : null;
+            if (response == null) {
+                return prerendered(out -> ResultJson.writeError(uploadId, "UPLOAD_NOT_FOUND",
+                        "Upload ID not found: " + uploadId, out));
+            }
+            return prerendered(out -> ResultJson.writeData(response, out));
+        } catch (UploadExpiredException e) {
+            return prerendered(out -> ResultJson.writeError(uploadId, "UPLOAD_EXPIRED", e.getMessage(), out));
+        }
+    }
+
+    /**
+     * Render a body now, so the work happens on the calling thread rather than the writer's
+     */
+    private static ResultBody prerendered(ResultBody body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            body.writeTo(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] rendered = bytes.toByteArray();
+        return out -> out.write(rendered);
+    }
+
+    private List<SeriesStatistics> filterStatistics(Collection<ChannelStats> series,
+                                                    List<String> deviceIds, List<String> channels) {
+        List<SeriesStatistics> statistics = new ArrayList<>();
+        for (ChannelStats stats : series) {
+            if (matches(stats, deviceIds, channels)) {
+                statistics.add(stats.toStatistics());
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Progress of a processing job from its counters; the completion estimate extrapolates
+     * the byte rate so far and needs a known upload size
+     */
+    private JobProgress progressOf(UploadJob job) {
+        JobProgress progress = new JobProgress();
+        long bytes = job.getBytesProcessed().sum();
+        long rows = job.getAcceptedCount() + job.getRejectedCount();
+        progress.setBytesProcessed(bytes);
+        progress.setTotalBytes(job.getSizeBytes());
+        progress.setRowsProcessed(rows);
+        if (job.getStartTime() == null) return progress;
+
+        LocalDateTime now = LocalDateTime.now();
+        long elapsedMs = Math.max(Duration.between(job.getStartTime(), now).toMillis(), 1);
+        progress.setElapsedMs(elapsedMs);
+        progress.setRowsPerSecond(rows * 1000.0 / elapsedMs);
+        long total = job.getSizeBytes();
+        if (total > 0 && bytes > 0) {
+            progress.setPercentComplete(Math.min(100.0, bytes * 100.0 / total));
+            long remainingMs = Math.max(total - bytes, 0) * elapsedMs / bytes;
+            progress.setEstimatedRemainingMs(remainingMs);
+            progress.setEstimatedCompletion(now.plus(Duration.ofMillis(remainingMs)));
+        }
+        return progress;
+    }
+
     /**
      * Get system status and metrics
      */
     public StatusResponse getSystemStatus() {
-        long pending = jobs.values().stream()
-                .filter(j -> j.getStatus() == UploadJob.JobStatus.PENDING || j.getStatus() == UploadJob.JobStatus.PROCESSING)
-                .count();
+        long pending = jobs.count(UploadJob.JobStatus.PENDING) + jobs.count(UploadJob.JobStatus.PROCESSING);
 
-        return new StatusResponse(
+        StatusResponse status = new StatusResponse(
                 totalSamplesReceived.get(),
                 totalSamplesProcessed.get(),
                 totalInvalidSamples.get(),
                 pending,
                 jobs.size()
         );
+        Map<String, Long> jobsByStatus = new LinkedHashMap<>();
+        for (UploadJob.JobStatus jobStatus : UploadJob.JobStatus.values()) {
+            jobsByStatus.put(jobStatus.toString(), jobs.count(jobStatus));
+        }
+        status.setJobsByStatus(jobsByStatus);
+        status.setActiveWorkers(Math.min(busyWorkers.get(), properties.getWorkerThreads()));
+        status.setQueuedJobs(admission.getQueuedJobs());
+        status.setQueuedBytes(admission.getQueuedBytes());
+        status.setRejectedUploads(admission.getRejectedJobs());
+        status.setUserQueues(scheduler.ownerStatus());
+        status.setRetainedBytes(jobs.getRetainedBytes());
+        status.setExpiredJobs(jobs.getEvictedJobs());
+        status.setResultCacheBytes(resultCache.getBytes());
+        status.setResultCacheHits(resultCache.getHits());
+        status.setResultCacheMisses(resultCache.getMisses());
+        status.setRollupSeries(rollups.size());
+        return status;
     }
 
     /**
-     * List all jobs with optional status filter
+     * List all jobs with optional status filter, newest first
      */
     public List<Map<String, Object>> listJobs(String statusFilter) {
-        return jobs.values().stream()
-                .filter(job -> statusFilter == null || job.getStatus().toString().equals(statusFilter))
-                .map(this::jobToMap)
-                .collect(Collectors.toList());
+        return listJobs(statusFilter, null, Integer.MAX_VALUE, null).getJobs();
+    }
+
+    /**
+     * One page of jobs, newest first, optionally filtered by status and owner. Served from the
+     * registry's sorted indexes, so only the jobs on the page are touched.
+     */
+    public JobPage listJobs(String statusFilter, String owner, int limit, String after) {
+        UploadJob.JobStatus status = statusFilter != null ? parseStatus(statusFilter) : null;
+        JobRegistry.Page page = jobs.page(status, owner, after, Math.max(limit, 1));
+        List<Map<String, Object>> listed = new ArrayList<>(page.getJobs().size());
+        for (UploadJob job : page.getJobs()) {
+            listed.add(jobToMap(job));
+        }
+        return new JobPage(listed, page.getNextCursor());
+    }
+
+    /**
+     * Statistics merged across uploads: the jobs submitted in [from, to] with the given status
+     * (COMPLETED by default) and owner, restricted to the matching devices and channels, with one
+     * aggregate per device, channel or series. Completed jobs contribute through their result
+     * index, processing ones through their latest statistics.
+     */
+    public AggregateResponse aggregate(String groupBy, LocalDateTime from, LocalDateTime to, String owner,
+                                       String statusFilter, List<String> deviceIds, List<String> channels) {
+        ResultAggregator.GroupBy grouping = groupBy != null ? parseGroupBy(groupBy) : ResultAggregator.GroupBy.DEVICE_CHANNEL;
+        UploadJob.JobStatus status = statusFilter != null ? parseStatus(statusFilter) : UploadJob.JobStatus.COMPLETED;
+
+        List<UploadJob> selected = jobs.select(status, owner, from, to);
+
+        List<ChannelStats> groups;
+        try {
+            groups = aggregator.aggregate(selected, job -> seriesOf(job, deviceIds, channels), grouping);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while aggregating", e);
+        }
+
+        AggregateResponse response = new AggregateResponse();
+        response.setGroupBy(grouping.toString());
+        response.setFrom(from);
+        response.setTo(to);
+        response.setJobCount(selected.size());
+        List<SeriesStatistics> statistics = new ArrayList<>(groups.size());
+        for (ChannelStats stats : groups) {
+            statistics.add(stats.toStatistics());
+        }
+        response.setGroups(statistics);
+        return response;
+    }
+
+    /**
+     * The matching series of a job as of now; copies where the job is still updating them
+     */
+    private Iterable<ChannelStats> seriesOf(UploadJob job, List<String> deviceIds, List<String> channels) {
+        ResultIndex index = job.getResultIndex();
+        if (index != null) return index.series(deviceIds, channels);
+
+        List<ChannelStats> series = new ArrayList<>();
+        if (job.isStream()) {
+            synchronized (job) {
+                Map<String, ChannelStats> results = job.getResults();
+                if (results == null) return series;
+                for (ChannelStats stats : results.values()) {
+                    if (matches(stats, deviceIds, channels)) {
+                        ChannelStats copy = new ChannelStats(stats.getDeviceId(), stats.getChannel());
+                        copy.merge(stats);
+                        series.add(copy);
+                    }
+                }
+            }
+            return series;
+        }
+        PartialResults partial = job.getPartialResults();
+        if (partial == null) return series;
+        for (ChannelStats stats : partial.snapshot().values()) {
+            if (matches(stats, deviceIds, channels)) {
+                series.add(stats);
+            }
+        }
+        return series;
+    }
+
+    private static boolean matches(ChannelStats stats, List<String> deviceIds, List<String> channels) {
+        return ResultIndex.matches(deviceIds, stats.getDeviceId()) && ResultIndex.matches(channels, stats.getChannel());
+    }
+
+    /**
+     * All-time and since-midnight statistics of a series across every completed upload,
+     * including uploads that have since expired or been deleted; null for an unknown series
+     */
+    public SeriesRollup getRollup(String deviceId, String channel) {
+        SeriesRollups.Snapshot snapshot = rollups.get(deviceId, channel);
+        if (snapshot == null) return null;
+        SeriesRollup rollup = new SeriesRollup();
+        rollup.setDeviceId(deviceId);
+        rollup.setChannel(channel);
+        rollup.setAllTime(snapshot.allTime().toStatistics());
+        if (snapshot.sinceMidnight().getCount() > 0) {
+            rollup.setSinceMidnight(snapshot.sinceMidnight().toStatistics());
+        }
+        rollup.setUploads(snapshot.uploads());
+        rollup.setLastUpdated(snapshot.lastUpdated());
+        return rollup;
+    }
+
+    private static ResultAggregator.GroupBy parseGroupBy(String groupBy) {
+        try {
+            return ResultAggregator.GroupBy.valueOf(groupBy);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown group by: " + groupBy);
+        }
+    }
+
+    private static UploadJob.JobStatus parseStatus(String status) {
+        try {
+            return UploadJob.JobStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown job status: " + status);
+        }
     }
 
     /**
      * Get detailed information about a specific job
      */
     public Map<String, Object> getJobInfo(String uploadId) {
-        UploadJob job = jobs.get(uploadId);
+        UploadJob job = findJob(uploadId);
         if (job == null) return null;
 
         Map<String, Object> info = jobToMap(job);
 
-        // Add additional details
-        if (job.getResults() != null) {
-            info.put("deviceCount", job.getResults().values().stream()
-                    .map(ChannelStats::getDeviceId)
-                    .distinct()
-                    .count());
-            info.put("channelCount", job.getResults().values().stream()
-                    .map(ChannelStats::getChannel)
-                    .distinct()
-                    .count());
+        // Add additional details, counted once when the job completed
+        if (job.getStatus() == UploadJob.JobStatus.COMPLETED) {
+            info.put("deviceCount", job.getDeviceCount());
+            info.put("channelCount", job.getChannelCount());
+        } else if (job.isStream() && job.getResults() != null) {
+            // an open stream's series still change, so they are counted under the job lock
+            synchronized (job) {
+                info.put("deviceCount", job.getResults().values().stream()
+                        .map(ChannelStats::getDeviceId)
+                        .distinct()
+                        .count());
+                info.put("channelCount", job.getResults().values().stream()
+                        .map(ChannelStats::getChannel)
+                        .distinct()
+                        .count());
+            }
         }
 
         return info;
     }
 
+    /**
+     * Cancel a queued or running job. Queued jobs and streams are cancelled at once; a running
+     * parse stops within {@link #CANCEL_CHECK_ROWS} rows and then ends CANCELLED.
+     * Returns null when the job does not exist and false when it has already finished.
+     */
+    public Boolean cancelJob(String uploadId) {
+        UploadJob job = findJob(uploadId);
+        if (job == null) return null;
+        if (job.isFinished()) return false;
+        job.setCancelRequested(true);
+        if (job.isStream()) {
+            // under the job lock, so no connection merges into the statistics after the stream ends
+            synchronized (job) {
+                cancelledJob(job);
+            }
+        } else if (job.cancelQueued()) {
+            finished(job);
+        }
+        return true;
+    }
+
     /**
      * Delete a job
      */
     public boolean deleteJob(String uploadId) {
-        return jobs.remove(uploadId) != null;
+        UploadJob job = jobs.remove(uploadId);
+        if (job == null) {
+            findJob(uploadId); // expired jobs are reported as such
+            return false;
+        }
+        if (job.isFinished()) {
+            deleteSpool(job);
+        }
+        resultCache.invalidate(uploadId);
+        return true;
     }
 
     /**
@@ -201,12 +1463,24 @@ public class ProcessingService {
     private Map<String, Object> jobToMap(UploadJob job) {
         Map<String, Object> map = new HashMap<>();
         map.put("uploadId", job.getUploadId());
+        map.put("owner", job.getOwner());
+        map.put("priority", job.getPriority().toString());
+        map.put("submittedAt", job.getSubmittedAt());
         map.put("status", job.getStatus().toString());
         map.put("acceptedCount", job.getAcceptedCount());
         map.put("rejectedCount", job.getRejectedCount());
         map.put("totalCount", job.getAcceptedCount() + job.getRejectedCount());
         map.put("startTime", job.getStartTime());
         map.put("endTime", job.getEndTime());
+        if (job.isStream()) {
+            map.put("stream", true);
+        }
+        if (job.getStatus() == UploadJob.JobStatus.PROCESSING) {
+            map.put("progress", progressOf(job));
+        }
+        if (job.isFinished()) {
+            map.put("retainedBytes", job.getRetainedBytes());
+        }
 
         if (job.getStartTime() != null && job.getEndTime() != null) {
             long duration = java.time.Duration.between(job.getStartTime(), job.getEndTime()).toMillis();
@@ -0,0 +1,67 @@
+package com.sensor.services.parsing;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Closes the wrapped stream as soon as its end is read, then runs a callback. Lets a parser
+ * read a stream it borrowed (e.g. a request body) and tell its owner the moment the stream
+ * is no longer needed, rather than when parsing is done. Once ended, reads return end of
+ * stream and closing does nothing, so the wrapped stream is never touched again.
+ */
+public class EndOfStreamInputStream extends FilterInputStream {
+
+    private final Runnable onEnd;
+    private boolean ended;
+
+    public EndOfStreamInputStream(InputStream in, Runnable onEnd) {
+        super(in);
+        this.onEnd = onEnd;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (ended) return -1;
+        int b = in.read();
+        if (b < 0) end();
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (ended) return -1;
+        int n = in.read(b, off, len);
+        if (n < 0) end();
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        return ended ? 0 : in.skip(n);
+    }
+
+    @Override
+    public int available() throws IOException {
+        return ended ? 0 : in.available();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!ended) end();
+    }
+
+    private void end() throws IOException {
+        ended = true;
+        try {
+            in.close();
+        } finally {
+            onEnd.run();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.sensor.services.parsing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads a byte range of a spooled file through read-only memory mappings.
+ * The range is mapped in windows so files larger than 2 GB and many concurrent readers
+ * only pin a bounded amount of address space; the data itself never touches the heap
+ * beyond the caller's read buffer.
+ */
+public class MappedRangeInputStream extends InputStream {
+
+    private static final long MAP_WINDOW = 32L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long end;
+    private long windowStart;
+    private MappedByteBuffer window;
+
+    public MappedRangeInputStream(FileChannel channel, long offset, long length) {
+        this.channel = channel;
+        this.windowStart = offset;
+        this.end = offset + length;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureWindow()) return -1;
+        return window.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) return 0;
+        if (!ensureWindow()) return -1;
+        int n = Math.min(len, window.remaining());
+        window.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public int available() {
+        long remaining = end - windowStart - (window == null ? 0 : window.position());
+        return (int) Math.min(Integer.MAX_VALUE, remaining);
+    }
+
+    private boolean ensureWindow() throws IOException {
+        if (window != null && window.hasRemaining()) return true;
+        if (window != null) {
+            windowStart += window.capacity();
+        }
+        if (windowStart >= end) return false;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(MAP_WINDOW, end - windowStart));
+        return true;
+    }
+}
@@ -0,0 +1,163 @@
+package com.sensor.services.parsing;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Parser for newline-delimited JSON samples, one flat object per line:
+ * <pre>
+ * {"timestamp_ms": 1699920000000, "device_id": "sensor_001", "channel": "temp", "value": 21.5}
+ * </pre>
+ * Each line is parsed on its own, so a malformed line only rejects that sample.
+ * Validation matches the CSV paths. Lines longer than the maximum line length are skipped
+ * without being buffered and rejected. Not thread-safe; use one instance per thread.
+ */
+public class NdjsonSampleReader {
+
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final long MAX_FUTURE_MS = 86400000;
+
+    private final int maxLineLength;
+    private InputStream in;
+    private byte[] buf;
+    private int pos;
+    private int limit;
+    private boolean eof;
+
+    // device and channel of the current sample, back to back
+    private byte[] names = new byte[256];
+
+    public NdjsonSampleReader(int bufferSize) {
+        this(bufferSize, SensorCsvTokenizer.DEFAULT_MAX_RECORD_LENGTH);
+    }
+
+    public NdjsonSampleReader(int bufferSize, int maxLineLength) {
+        this.buf = new byte[Math.max(bufferSize, 1024)];
+        this.maxLineLength = maxLineLength;
+    }
+
+    public void parse(InputStream input, SampleSink sink) throws IOException {
+        in = input;
+        pos = 0;
+        limit = 0;
+        eof = false;
+        long maxTimestamp = System.currentTimeMillis() + MAX_FUTURE_MS;
+
+        int scan = 0;
+        boolean oversized = false;
+        while (true) {
+            while (scan < limit && buf[scan] != '\n') scan++;
+            if (scan < limit) {
+                if (oversized) {
+                    sink.reject();
+                    oversized = false;
+                } else {
+                    parseLine(pos, scan, maxTimestamp, sink);
+                }
+                pos = ++scan;
+            } else if (eof) {
+                if (oversized) {
+                    sink.reject();
+                } else if (pos < limit) {
+                    parseLine(pos, limit, maxTimestamp, sink);
+                }
+                return;
+            } else {
+                if (oversized || scan - pos >= maxLineLength) {
+                    oversized = true; // drop the line's bytes instead of growing the buffer
+                    pos = scan;
+                }
+                scan -= pos;
+                fill();
+            }
+        }
+    }
+
+    private void parseLine(int start, int end, long maxTimestamp, SampleSink sink) throws IOException {
+        while (start < end && (buf[start] & 0xff) <= ' ') start++;
+        while (end > start && (buf[end - 1] & 0xff) <= ' ') end--;
+        if (start == end) return; // blank line
+
+        long timestamp = -1;
+        String deviceId = null;
+        String channel = null;
+        double value = Double.NaN;
+        try (JsonParser parser = JSON.createParser(buf, start, end - start)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                sink.reject();
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "timestamp_ms" -> {
+                        if (token == JsonToken.VALUE_NUMBER_INT) timestamp = parser.getLongValue();
+                    }
+                    case "device_id" -> {
+                        if (token == JsonToken.VALUE_STRING) deviceId = parser.getText().trim();
+                    }
+                    case "channel" -> {
+                        if (token == JsonToken.VALUE_STRING) channel = parser.getText().trim();
+                    }
+                    case "value" -> {
+                        if (token.isNumeric()) value = parser.getDoubleValue();
+                    }
+                    default -> { }
+                }
+                parser.skipChildren(); // nested values are never part of the sample
+            }
+            if (parser.nextToken() != null) {
+                sink.reject(); // trailing content after the object
+                return;
+            }
+        } catch (JsonProcessingException e) {
+            sink.reject();
+            return;
+        }
+
+        // Same rules as the CSV paths
+        if (timestamp < 0 || timestamp > maxTimestamp
+                || deviceId == null || deviceId.isEmpty()
+                || channel == null || channel.isEmpty()
+                || !Double.isFinite(value)) {
+            sink.reject();
+            return;
+        }
+        byte[] device = deviceId.getBytes(StandardCharsets.UTF_8);
+        byte[] channelBytes = channel.getBytes(StandardCharsets.UTF_8);
+        if (device.length + channelBytes.length > names.length) {
+            names = new byte[Math.max(names.length * 2, device.length + channelBytes.length)];
+        }
+        System.arraycopy(device, 0, names, 0, device.length);
+        System.arraycopy(channelBytes, 0, names, device.length, channelBytes.length);
+        sink.accept(timestamp, names, 0, device.length, device.length, channelBytes.length, value);
+    }
+
+    /**
+     * Move the unread tail to the front of the buffer (growing it when a line fills it) and read more
+     */
+    private void fill() throws IOException {
+        int remaining = limit - pos;
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, remaining);
+        } else if (remaining == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+        pos = 0;
+        limit = remaining;
+        int n = in.read(buf, limit, buf.length - limit);
+        if (n < 0) {
+            eof = true;
+        } else {
+            limit += n;
+        }
+    }
+}
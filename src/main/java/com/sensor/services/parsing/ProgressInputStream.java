@@ -0,0 +1,41 @@
+package com.sensor.services.parsing;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the bytes read from an upload into a job's progress counter.
+ * Several streams (e.g. the chunks of a parallel parse) may share one counter.
+ */
+public class ProgressInputStream extends FilterInputStream {
+
+    private final LongAdder bytesRead;
+
+    public ProgressInputStream(InputStream in, LongAdder bytesRead) {
+        super(in);
+        this.bytesRead = bytesRead;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b >= 0) bytesRead.increment();
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = in.read(b, off, len);
+        if (n > 0) bytesRead.add(n);
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = in.skip(n);
+        bytesRead.add(skipped);
+        return skipped;
+    }
+}
@@ -0,0 +1,22 @@
+package com.sensor.services.parsing;
+
+/**
+ * Receives rows decoded by {@link SensorCsvTokenizer}.
+ * Device and channel are passed as byte ranges into a buffer that is reused for the next row,
+ * so implementations must copy or intern them before returning.
+ */
+public interface SampleSink {
+
+    /**
+     * A row that passed validation
+     */
+    void accept(long timestamp,
+                byte[] buffer, int deviceOffset, int deviceLength,
+                int channelOffset, int channelLength,
+                double value);
+
+    /**
+     * A row that was malformed or failed validation
+     */
+    void reject();
+}
@@ -0,0 +1,123 @@
+package com.sensor.services.parsing;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Decoder for the binary sensor batch format produced by {@link SensorBatchEncoder}.
+ * All integers are big-endian.
+ * <pre>
+ * header     magic "SNB1" (4 bytes)
+ * devices    u32 count, then count x (u16 length, UTF-8 name)
+ * channels   u32 count, then count x (u16 length, UTF-8 name)
+ * records    until end of stream, 24 bytes each:
+ *            i64 timestamp_ms, u32 device index, u32 channel index, f64 value (IEEE 754)
+ * </pre>
+ * Records go through the same validation as CSV rows; an unknown device or channel index
+ * rejects the record. A truncated record or a bad header fails the whole batch.
+ */
+public class SensorBatchDecoder {
+
+    public static final byte[] MAGIC = {'S', 'N', 'B', '1'};
+    public static final int RECORD_BYTES = 24;
+
+    private static final long MAX_FUTURE_MS = 86400000;
+    private static final int MAX_DICTIONARY_SIZE = 1 << 20;
+
+    private final byte[] buffer;
+
+    // device and channel names back to back, so both can be handed to the sink from one array
+    private byte[] names = new byte[256];
+    private int namesUsed;
+
+    public SensorBatchDecoder(int bufferSize) {
+        this.buffer = new byte[Math.max(bufferSize / RECORD_BYTES, 1) * RECORD_BYTES];
+    }
+
+    public void parse(InputStream input, SampleSink sink) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        byte[] magic = new byte[MAGIC.length];
+        try {
+            in.readFully(magic);
+        } catch (EOFException e) {
+            throw new IOException("Not a sensor batch: missing header");
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (magic[i] != MAGIC[i]) throw new IOException("Not a sensor batch: bad magic");
+        }
+        namesUsed = 0;
+        Dictionary devices = readDictionary(in);
+        Dictionary channels = readDictionary(in);
+
+        long maxTimestamp = System.currentTimeMillis() + MAX_FUTURE_MS;
+        ByteBuffer records = ByteBuffer.wrap(buffer);
+        int filled = 0;
+        int n;
+        while ((n = in.read(buffer, filled, buffer.length - filled)) > 0) {
+            filled += n;
+            int whole = filled - filled % RECORD_BYTES;
+            for (int offset = 0; offset < whole; offset += RECORD_BYTES) {
+                long timestamp = records.getLong(offset);
+                long device = records.getInt(offset + 8) & 0xffffffffL;
+                long channel = records.getInt(offset + 12) & 0xffffffffL;
+                double value = records.getDouble(offset + 16);
+
+                if (device >= devices.size || channel >= channels.size
+                        || devices.length((int) device) == 0 || channels.length((int) channel) == 0
+                        || timestamp < 0 || timestamp > maxTimestamp
+                        || !Double.isFinite(value)) {
+                    sink.reject();
+                    continue;
+                }
+                sink.accept(timestamp, names,
+                        devices.offset((int) device), devices.length((int) device),
+                        channels.offset((int) channel), channels.length((int) channel),
+                        value);
+            }
+            System.arraycopy(buffer, whole, buffer, 0, filled - whole);
+            filled -= whole;
+        }
+        if (filled != 0) {
+            throw new IOException("Truncated sensor batch: " + filled + " trailing bytes");
+        }
+    }
+
+    private Dictionary readDictionary(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size < 0 || size > MAX_DICTIONARY_SIZE) {
+            throw new IOException("Invalid dictionary size: " + size);
+        }
+        int[] offsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            int length = in.readUnsignedShort();
+            if (namesUsed + length > names.length) {
+                names = Arrays.copyOf(names, Math.max(names.length * 2, namesUsed + length));
+            }
+            in.readFully(names, namesUsed, length);
+            offsets[i] = namesUsed;
+            namesUsed += length;
+        }
+        offsets[size] = namesUsed;
+        return new Dictionary(offsets, size);
+    }
+
+    /**
+     * Positions of one dictionary's names in the shared name array
+     */
+    private static final class Dictionary {
+        final int[] offsets;
+        final int size;
+
+        Dictionary(int[] offsets, int size) {
+            this.offsets = offsets;
+            this.size = size;
+        }
+
+        int offset(int index) { return offsets[index]; }
+        int length(int index) { return offsets[index + 1] - offsets[index]; }
+    }
+}
@@ -0,0 +1,101 @@
+package com.sensor.services.parsing;
+
+import com.sensor.dto.response.SensorSample;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the binary sensor batch format described in {@link SensorBatchDecoder}.
+ * The device and channel dictionaries are written up front, then records are streamed:
+ * <pre>
+ * try (SensorBatchEncoder encoder = new SensorBatchEncoder(out, devices, channels)) {
+ *     encoder.write(timestampMs, "sensor_001", "temp", 21.5);
+ * }
+ * </pre>
+ */
+public class SensorBatchEncoder implements AutoCloseable {
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> deviceIndex = new HashMap<>();
+    private final Map<String, Integer> channelIndex = new HashMap<>();
+
+    public SensorBatchEncoder(OutputStream output, List<String> devices, List<String> channels) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(output));
+        out.write(SensorBatchDecoder.MAGIC);
+        writeDictionary(devices, deviceIndex);
+        writeDictionary(channels, channelIndex);
+    }
+
+    /**
+     * Encode a list of samples, building the dictionaries from the samples themselves
+     */
+    public static byte[] encode(List<SensorSample> samples) throws IOException {
+        Map<String, Integer> devices = new LinkedHashMap<>();
+        Map<String, Integer> channels = new LinkedHashMap<>();
+        for (SensorSample sample : samples) {
+            devices.putIfAbsent(sample.getDeviceId(), devices.size());
+            channels.putIfAbsent(sample.getChannel(), channels.size());
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(
+                samples.size() * SensorBatchDecoder.RECORD_BYTES + 64);
+        try (SensorBatchEncoder encoder = new SensorBatchEncoder(bytes,
+                new ArrayList<>(devices.keySet()), new ArrayList<>(channels.keySet()))) {
+            for (SensorSample sample : samples) {
+                encoder.write(sample.getTimestamp(), devices.get(sample.getDeviceId()),
+                        channels.get(sample.getChannel()), sample.getValue());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Write a record by dictionary names
+     */
+    public void write(long timestampMs, String deviceId, String channel, double value) throws IOException {
+        Integer device = deviceIndex.get(deviceId);
+        Integer channelId = channelIndex.get(channel);
+        if (device == null || channelId == null) {
+            throw new IllegalArgumentException("Device or channel not in dictionary: " + deviceId + ":" + channel);
+        }
+        write(timestampMs, device, channelId, value);
+    }
+
+    /**
+     * Write a record by dictionary positions
+     */
+    public void write(long timestampMs, int deviceIndex, int channelIndex, double value) throws IOException {
+        out.writeLong(timestampMs);
+        out.writeInt(deviceIndex);
+        out.writeInt(channelIndex);
+        out.writeDouble(value);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeDictionary(List<String> names, Map<String, Integer> index) throws IOException {
+        out.writeInt(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xffff) {
+                throw new IllegalArgumentException("Name longer than 65535 bytes: " + name);
+            }
+            out.writeShort(bytes.length);
+            out.write(bytes);
+            index.putIfAbsent(name, i);
+        }
+    }
+}
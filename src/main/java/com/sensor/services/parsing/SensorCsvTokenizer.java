@@ -0,0 +1,478 @@
+package com.sensor.services.parsing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Byte-level parser for the sensor CSV schema (timestamp_ms, device_id, channel, value).
+ * Scans UTF-8 bytes directly and hands primitive fields to a {@link SampleSink} without
+ * allocating per row. Follows the commons-csv DEFAULT format: header in the first record,
+ * empty lines skipped, double-quoted fields with "" escapes (which may span lines).
+ * Records longer than the maximum record length are skipped without being buffered and rejected.
+ * Not thread-safe; use one instance per thread.
+ */
+public class SensorCsvTokenizer {
+
+    public static final String[] COLUMNS = {"timestamp_ms", "device_id", "channel", "value"};
+    private static final int TIMESTAMP = 0, DEVICE = 1, CHANNEL = 2, VALUE = 3;
+    public static final int DEFAULT_MAX_RECORD_LENGTH = 1 << 20;
+
+    // nextRecordEnd results besides a record end
+    private static final int NO_INPUT = -1;
+    private static final int OVERSIZED = -2;
+
+    private static final long MAX_FUTURE_MS = 86400000;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final int maxRecordLength;
+    private InputStream in;
+    private byte[] buf;
+    private int pos;
+    private int limit;
+    private long bufferOffset;
+    private boolean eof;
+    private boolean pendingLf;
+    private boolean unclosedQuote;
+
+    // column index of each schema field, -1 when missing from the header
+    private final int[] columnIndex = new int[COLUMNS.length];
+    private int requiredFields;
+    private boolean headerComplete;
+
+    // trimmed [start, end) of each schema field in the current record
+    private final int[] fieldStart = new int[COLUMNS.length];
+    private final int[] fieldEnd = new int[COLUMNS.length];
+
+    private long maxTimestamp;
+    private double parsedValue;
+
+    public SensorCsvTokenizer(int bufferSize) {
+        this(bufferSize, DEFAULT_MAX_RECORD_LENGTH);
+    }
+
+    public SensorCsvTokenizer(int bufferSize, int maxRecordLength) {
+        this.buf = new byte[Math.max(bufferSize, 1024)];
+        this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * Parse a full upload including its header record
+     */
+    public void parse(InputStream input, SampleSink sink) throws IOException {
+        reset(input);
+        if (readHeader()) {
+            parseRecords(sink);
+        }
+    }
+
+    /**
+     * Parse an open-ended feed whose header record is optional. A first record that starts
+     * with a number is taken as data laid out in {@link #COLUMNS} order.
+     */
+    public void parseStream(InputStream input, SampleSink sink) throws IOException {
+        reset(input);
+        int end;
+        while ((end = nextRecordEnd()) == pos) {
+            consumeRecord(end); // leading empty lines
+        }
+        if (end == NO_INPUT) return;
+        if (end == OVERSIZED) throw oversizedHeader();
+        if (startsWithNumber(pos, end)) {
+            for (int i = 0; i < columnIndex.length; i++) columnIndex[i] = i;
+            requiredFields = COLUMNS.length;
+            headerComplete = true;
+        } else {
+            readHeader();
+        }
+        parseRecords(sink);
+    }
+
+    /**
+     * Read only the header record; returns the number of bytes it occupies, or -1 for empty input
+     */
+    public long parseHeader(InputStream input) throws IOException {
+        reset(input);
+        if (!readHeader()) return -1;
+        if (pendingLf) skipPendingLf();
+        return position();
+    }
+
+    /**
+     * Parse a headerless slice of an upload using the column layout read by another tokenizer
+     */
+    public void parseBody(InputStream input, SensorCsvTokenizer header, SampleSink sink) throws IOException {
+        reset(input);
+        System.arraycopy(header.columnIndex, 0, columnIndex, 0, columnIndex.length);
+        requiredFields = header.requiredFields;
+        headerComplete = header.headerComplete;
+        parseRecords(sink);
+    }
+
+    /**
+     * Whether the input ended inside a quoted field. For a slice of an upload this means the
+     * slice was cut inside a quoted line break, so the next slice does not start at a record.
+     */
+    public boolean endedInQuotedField() {
+        return unclosedQuote;
+    }
+
+    /**
+     * Bytes of the current input consumed so far
+     */
+    public long position() {
+        return bufferOffset + pos;
+    }
+
+    private void reset(InputStream input) {
+        in = input;
+        pos = 0;
+        limit = 0;
+        bufferOffset = 0;
+        eof = false;
+        pendingLf = false;
+        unclosedQuote = false;
+        maxTimestamp = System.currentTimeMillis() + MAX_FUTURE_MS;
+    }
+
+    private void parseRecords(SampleSink sink) throws IOException {
+        int end;
+        while ((end = nextRecordEnd()) != NO_INPUT) {
+            if (end == OVERSIZED) {
+                sink.reject();
+                continue;
+            }
+            int start = pos;
+            consumeRecord(end);
+            if (end == start) continue; // empty line
+
+            if (!headerComplete || !splitFields(start, end)) {
+                sink.reject();
+                continue;
+            }
+            long timestamp = parseLong(fieldStart[TIMESTAMP], fieldEnd[TIMESTAMP]);
+            int deviceLength = fieldEnd[DEVICE] - fieldStart[DEVICE];
+            int channelLength = fieldEnd[CHANNEL] - fieldStart[CHANNEL];
+
+            // Same rules as the commons-csv path in ProcessingService.parseSample
+            if (timestamp < 0 || timestamp > maxTimestamp
+                    || deviceLength == 0 || channelLength == 0
+                    || !parseDouble(fieldStart[VALUE], fieldEnd[VALUE])
+                    || !Double.isFinite(parsedValue)) {
+                sink.reject();
+                continue;
+            }
+            sink.accept(timestamp, buf, fieldStart[DEVICE], deviceLength,
+                    fieldStart[CHANNEL], channelLength, parsedValue);
+        }
+    }
+
+    private boolean readHeader() throws IOException {
+        int end;
+        while ((end = nextRecordEnd()) == pos) {
+            consumeRecord(end); // leading empty lines
+        }
+        if (end == NO_INPUT) return false;
+        if (end == OVERSIZED) throw oversizedHeader();
+
+        Arrays.fill(columnIndex, -1);
+        int column = 0;
+        int fieldBegin = pos;
+        while (fieldBegin <= end) {
+            int contentStart, contentEnd, fieldStop;
+            if (fieldBegin < end && buf[fieldBegin] == '"') {
+                int closing = scanQuoted(fieldBegin, end);
+                contentStart = fieldBegin + 1;
+                contentEnd = unquote(fieldBegin, closing);
+                fieldStop = indexOfComma(closing, end);
+            } else {
+                fieldStop = indexOfComma(fieldBegin, end);
+                contentStart = fieldBegin;
+                contentEnd = fieldStop;
+            }
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (columnIndex[i] < 0 && matches(contentStart, contentEnd, COLUMNS[i])) {
+                    columnIndex[i] = column;
+                }
+            }
+            column++;
+            fieldBegin = fieldStop + 1;
+        }
+        consumeRecord(end);
+
+        headerComplete = true;
+        requiredFields = COLUMNS.length;
+        for (int index : columnIndex) {
+            if (index < 0) headerComplete = false;
+            requiredFields = Math.max(requiredFields, index + 1);
+        }
+        return true;
+    }
+
+    private IOException oversizedHeader() {
+        return new IOException("First record exceeds " + maxRecordLength + " bytes");
+    }
+
+    /**
+     * Locate the schema fields of the record in [start, end); false when it has too few fields
+     */
+    private boolean splitFields(int start, int end) {
+        int column = 0;
+        int fieldBegin = start;
+        while (fieldBegin <= end) {
+            int contentStart, contentEnd, fieldStop;
+            if (fieldBegin < end && buf[fieldBegin] == '"') {
+                int closing = scanQuoted(fieldBegin, end);
+                contentStart = fieldBegin + 1;
+                contentEnd = unquote(fieldBegin, closing);
+                fieldStop = indexOfComma(closing, end);
+            } else {
+                fieldStop = indexOfComma(fieldBegin, end);
+                contentStart = fieldBegin;
+                contentEnd = fieldStop;
+            }
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (columnIndex[i] == column) {
+                    while (contentStart < contentEnd && (buf[contentStart] & 0xff) <= ' ') contentStart++;
+                    while (contentEnd > contentStart && (buf[contentEnd - 1] & 0xff) <= ' ') contentEnd--;
+                    fieldStart[i] = contentStart;
+                    fieldEnd[i] = contentEnd;
+                }
+            }
+            column++;
+            fieldBegin = fieldStop + 1;
+        }
+        return column >= requiredFields;
+    }
+
+    private int indexOfComma(int from, int end) {
+        while (from < end && buf[from] != ',') from++;
+        return from;
+    }
+
+    /**
+     * Position just past the closing quote of the quoted field opening at {@code quote}
+     */
+    private int scanQuoted(int quote, int end) {
+        int i = quote + 1;
+        while (i < end) {
+            if (buf[i] == '"') {
+                if (i + 1 < end && buf[i + 1] == '"') {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return end;
+    }
+
+    /**
+     * Collapse "" escapes of a quoted field in place; returns the end of its content
+     */
+    private int unquote(int quote, int closing) {
+        int read = quote + 1;
+        int write = read;
+        int contentEnd = closing > read && buf[closing - 1] == '"' ? closing - 1 : closing;
+        while (read < contentEnd) {
+            byte b = buf[read];
+            buf[write++] = b;
+            read += b == '"' ? 2 : 1;
+        }
+        return write;
+    }
+
+    private boolean startsWithNumber(int start, int end) {
+        if (start < end && buf[start] == '"') start++;
+        if (start == end) return false;
+        byte first = buf[start];
+        return first >= '0' && first <= '9' || first == '-' || first == '+';
+    }
+
+    /**
+     * Header names are matched exactly, as commons-csv does
+     */
+    private boolean matches(int start, int end, String name) {
+        if (end - start != name.length()) return false;
+        for (int i = 0; i < name.length(); i++) {
+            if (buf[start + i] != name.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Find the end of the record starting at {@link #pos}, refilling the buffer as needed.
+     * Returns the offset of its line terminator (or of the end of input), {@link #NO_INPUT} when no
+     * input remains, or {@link #OVERSIZED} once a record longer than the maximum has been skipped.
+     */
+    private int nextRecordEnd() throws IOException {
+        if (pendingLf) skipPendingLf();
+        int scan = pos;
+        boolean quoted = false;
+        boolean atFieldStart = true;
+        boolean justClosed = false;
+        boolean oversized = false;
+        while (true) {
+            while (scan < limit) {
+                byte b = buf[scan];
+                if (quoted) {
+                    if (b == '"') {
+                        quoted = false;
+                        justClosed = true;
+                    }
+                } else if (b == '"' && (atFieldStart || justClosed)) {
+                    // opening quote, or the second half of a "" escape
+                    quoted = true;
+                    justClosed = false;
+                } else if (b == '\n' || b == '\r') {
+                    if (!oversized) return scan;
+                    consumeRecord(scan);
+                    return OVERSIZED;
+                } else {
+                    justClosed = false;
+                }
+                atFieldStart = !quoted && b == ',';
+                scan++;
+            }
+            if (eof) {
+                if (quoted) unclosedQuote = true;
+                if (oversized) {
+                    pos = limit;
+                    return OVERSIZED;
+                }
+                return pos < limit ? limit : NO_INPUT;
+            }
+            if (oversized || scan - pos >= maxRecordLength) {
+                // drop what was scanned instead of growing the buffer; the quote state carries on
+                oversized = true;
+                pos = scan;
+            }
+            int shift = pos;
+            fill();
+            scan -= shift;
+        }
+    }
+
+    private void consumeRecord(int end) {
+        if (end < limit) {
+            pendingLf = buf[end] == '\r';
+            pos = end + 1;
+        } else {
+            pos = end;
+        }
+    }
+
+    private void skipPendingLf() throws IOException {
+        pendingLf = false;
+        if (pos == limit && !eof) fill();
+        if (pos < limit && buf[pos] == '\n') pos++;
+    }
+
+    /**
+     * Move the unread tail to the front of the buffer (growing it when a record fills it) and read more
+     */
+    private void fill() throws IOException {
+        int remaining = limit - pos;
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, remaining);
+            bufferOffset += pos;
+        } else if (remaining == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+        pos = 0;
+        limit = remaining;
+        int n = in.read(buf, limit, buf.length - limit);
+        if (n < 0) {
+            eof = true;
+        } else {
+            limit += n;
+        }
+    }
+
+    private long parseLong(int start, int end) {
+        if (start == end) return -1;
+        boolean negative = buf[start] == '-';
+        if (negative || buf[start] == '+') {
+            if (++start == end) return -1;
+        }
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = buf[i] - '0';
+            if (digit < 0 || digit > 9) return -1;
+            if (result > (Long.MAX_VALUE - digit) / 10) return -1;
+            result = result * 10 + digit;
+        }
+        // only "-0" survives validation as a negative literal
+        return negative && result != 0 ? -1 : result;
+    }
+
+    /**
+     * Parse a decimal into {@link #parsedValue}. Plain decimals whose digits fit in a double's
+     * mantissa are converted exactly without allocating; anything else goes to {@link Double#parseDouble}.
+     */
+    private boolean parseDouble(int start, int end) {
+        if (start == end) return false;
+        int i = start;
+        boolean negative = buf[i] == '-';
+        if (negative || buf[i] == '+') i++;
+
+        long mantissa = 0;
+        int digits = 0;
+        int significant = 0;
+        int fractionDigits = 0;
+        boolean fraction = false;
+        for (; i < end; i++) {
+            byte b = buf[i];
+            if (b >= '0' && b <= '9') {
+                digits++;
+                if (mantissa != 0 || b != '0') significant++;
+                if (significant > 18) return parseDoubleSlow(start, end);
+                mantissa = mantissa * 10 + (b - '0');
+                if (fraction) fractionDigits++;
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) return parseDoubleSlow(start, end);
+
+        int exponent = 0;
+        if (i < end) {
+            if (buf[i] != 'e' && buf[i] != 'E') return parseDoubleSlow(start, end);
+            i++;
+            boolean negativeExponent = i < end && buf[i] == '-';
+            if (negativeExponent || i < end && buf[i] == '+') i++;
+            if (i == end) return parseDoubleSlow(start, end);
+            for (; i < end; i++) {
+                int digit = buf[i] - '0';
+                if (digit < 0 || digit > 9 || exponent > 10000) return parseDoubleSlow(start, end);
+                exponent = exponent * 10 + digit;
+            }
+            if (negativeExponent) exponent = -exponent;
+        }
+        exponent -= fractionDigits;
+
+        if (mantissa > MAX_EXACT_MANTISSA || exponent < -22 || exponent > 22) {
+            return parseDoubleSlow(start, end);
+        }
+        double value = exponent >= 0 ? mantissa * POW10[exponent] : mantissa / POW10[-exponent];
+        parsedValue = negative ? -value : value;
+        return true;
+    }
+
+    private boolean parseDoubleSlow(int start, int end) {
+        try {
+            parsedValue = Double.parseDouble(new String(buf, start, end - start, StandardCharsets.UTF_8));
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
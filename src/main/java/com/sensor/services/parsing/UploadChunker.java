@@ -0,0 +1,52 @@
+package com.sensor.services.parsing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the body of a spooled upload into line-aligned chunks for parallel parsing.
+ * Chunks are cut after a '\n' without tracking quotes, so a cut can land inside a quoted field
+ * that spans lines; callers detect that with {@link SensorCsvTokenizer#endedInQuotedField()}.
+ */
+public final class UploadChunker {
+
+    private static final int SCAN_WINDOW = 8 * 1024;
+
+    private UploadChunker() {}
+
+    /**
+     * Chunk boundaries as [offset, length] pairs covering [bodyStart, size)
+     */
+    public static List<long[]> split(FileChannel channel, long bodyStart, long size, long chunkSize) throws IOException {
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer window = ByteBuffer.allocate(SCAN_WINDOW);
+        long start = bodyStart;
+        while (start < size) {
+            long end = start + chunkSize >= size ? size : nextLineStart(channel, start + chunkSize, size, window);
+            chunks.add(new long[]{start, end - start});
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Offset just past the first '\n' at or after {@code from}, or {@code size} if there is none
+     */
+    private static long nextLineStart(FileChannel channel, long from, long size, ByteBuffer window) throws IOException {
+        long position = from;
+        while (position < size) {
+            window.clear();
+            int n = channel.read(window, position);
+            if (n <= 0) break;
+            byte[] bytes = window.array();
+            for (int i = 0; i < n; i++) {
+                if (bytes[i] == '\n') return position + i + 1;
+            }
+            position += n;
+        }
+        return size;
+    }
+}
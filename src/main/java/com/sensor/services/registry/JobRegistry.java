@@ -0,0 +1,440 @@
+package com.sensor.services.registry;
+
+import com.sensor.dto.UploadJob;
+import com.sensor.dto.response.ChannelStats;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * All upload jobs by ID. Finished jobs are kept for a time-to-live and within a budget of
+ * retained bytes; over budget, the least recently used finished jobs are evicted first,
+ * approximated by giving a job read since it was last considered a second chance. Reads only
+ * mark a job as used, so they take no lock. Running jobs are never evicted. IDs of evicted jobs are remembered (up to a bound) so a lookup
+ * can tell an expired job from one that never existed.
+ * Jobs per status are counted as they are registered, change status and leave, so status
+ * totals cost O(1) however many jobs are retained. The same bookkeeping maintains sorted indexes
+ * by submission, status, owner, and owner and status together, so a page of a listing only
+ * touches the jobs it returns.
+ */
+public class JobRegistry {
+
+    private static final int MAX_TOMBSTONES = 10_000;
+    // rough heap cost of a job and of one retained series (stats, map entry, key and name strings,
+    // and its entries in the job's result index)
+    private static final long JOB_OVERHEAD_BYTES = 512;
+    private static final long SERIES_OVERHEAD_BYTES = 360;
+
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+    // how each registered job is counted and indexed; updated atomically per job with the indexes
+    private final Map<String, Indexed> indexed = new ConcurrentHashMap<>();
+    private final LongAdder[] statusCounts = new LongAdder[UploadJob.JobStatus.values().length];
+    private final AtomicLong sequence = new AtomicLong();
+    // submission sequence -> job, newest first
+    private final NavigableMap<Long, UploadJob> bySubmission = newIndex();
+    private final List<NavigableMap<Long, UploadJob>> byStatus = new ArrayList<>();
+    private final Map<String, NavigableMap<Long, UploadJob>> byOwner = new ConcurrentHashMap<>();
+    private final Map<String, NavigableMap<Long, UploadJob>> byOwnerAndStatus = new ConcurrentHashMap<>();
+    // submission time -> job, oldest first, for time-range queries
+    private final NavigableMap<Submitted, UploadJob> bySubmittedAt = new ConcurrentSkipListMap<>(
+            Comparator.comparing(Submitted::at).thenComparingLong(Submitted::sequence));
+    private final long ttlMillis;
+    private final long maxRetainedBytes;
+    private final Consumer<UploadJob> onEvict;
+    private final Clock clock;
+
+    // finished jobs, written under this lock but read without it
+    private final Map<String, Retained> finished = new ConcurrentHashMap<>();
+    // finished job IDs in eviction order, guarded by this
+    private final LinkedHashSet<String> evictionOrder = new LinkedHashSet<>();
+    private final LinkedHashMap<String, Boolean> tombstones = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_TOMBSTONES;
+        }
+    };
+    private long retainedBytes;
+    private long evictedJobs;
+
+    public JobRegistry(Duration ttl, long maxRetainedBytes, Consumer<UploadJob> onEvict) {
+        this(ttl, maxRetainedBytes, onEvict, Clock.systemUTC());
+    }
+
+    public JobRegistry(Duration ttl, long maxRetainedBytes, Consumer<UploadJob> onEvict, Clock clock) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxRetainedBytes = maxRetainedBytes;
+        this.onEvict = onEvict;
+        this.clock = clock;
+        for (int i = 0; i < statusCounts.length; i++) {
+            statusCounts[i] = new LongAdder();
+            byStatus.add(newIndex());
+        }
+    }
+
+    public void put(UploadJob job) {
+        jobs.put(job.getUploadId(), job);
+        indexed.compute(job.getUploadId(), (uploadId, previous) -> {
+            if (previous != null) unindex(previous);
+            Indexed entry = new Indexed(sequence.incrementAndGet(), job.getSubmittedAt(), job.getStatus(),
+                    ownerKey(job.getOwner()));
+            statusCounts[entry.status.ordinal()].increment();
+            byStatus.get(entry.status.ordinal()).put(entry.sequence, job);
+            bySubmission.put(entry.sequence, job);
+            bySubmittedAt.put(entry.submitted, job);
+            addTo(byOwner, entry.owner, entry.sequence, job);
+            addTo(byOwnerAndStatus, ownerStatusKey(entry.owner, entry.status), entry.sequence, job);
+            return entry;
+        });
+    }
+
+    /**
+     * Recount and reindex a job after a status transition. Reads the job's current status, so a
+     * call that races with a later transition is corrected by that transition's own call.
+     */
+    public void statusChanged(UploadJob job) {
+        indexed.computeIfPresent(job.getUploadId(), (uploadId, entry) -> {
+            UploadJob.JobStatus status = job.getStatus();
+            if (status != entry.status) {
+                statusCounts[entry.status.ordinal()].decrement();
+                byStatus.get(entry.status.ordinal()).remove(entry.sequence);
+                removeFrom(byOwnerAndStatus, ownerStatusKey(entry.owner, entry.status), entry.sequence);
+                statusCounts[status.ordinal()].increment();
+                byStatus.get(status.ordinal()).put(entry.sequence, job);
+                addTo(byOwnerAndStatus, ownerStatusKey(entry.owner, status), entry.sequence, job);
+                entry.status = status;
+            }
+            return entry;
+        });
+    }
+
+    public long count(UploadJob.JobStatus status) {
+        return statusCounts[status.ordinal()].sum();
+    }
+
+    /**
+     * One page of jobs, newest first, optionally filtered by status and owner. The cursor is the
+     * one returned with the previous page; pages stay stable while new jobs are submitted.
+     */
+    public Page page(UploadJob.JobStatus status, String owner, String cursor, int limit) {
+        NavigableMap<Long, UploadJob> index = index(status, owner);
+        if (cursor != null) {
+            index = index.tailMap(parseCursor(cursor), false);
+        }
+
+        List<UploadJob> page = new ArrayList<>(Math.min(limit, 256));
+        long last = 0;
+        for (Map.Entry<Long, UploadJob> entry : index.entrySet()) {
+            if (status != null && entry.getValue().getStatus() != status) {
+                // the job has left this status for good and its reindex is on the way
+                index.remove(entry.getKey(), entry.getValue());
+                continue;
+            }
+            // only a job that belongs on the next page makes this one not the last
+            if (page.size() == limit) return new Page(page, Long.toString(last));
+            page.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new Page(page, null);
+    }
+
+    /**
+     * Every job with the given status and owner (either may be null), newest first
+     */
+    public List<UploadJob> select(UploadJob.JobStatus status, String owner) {
+        List<UploadJob> selected = new ArrayList<>();
+        for (UploadJob job : index(status, owner).values()) {
+            if (status == null || job.getStatus() == status) selected.add(job);
+        }
+        return selected;
+    }
+
+    /**
+     * Every job submitted within [from, to], both inclusive and either may be null, with the given
+     * status and owner (either may be null), oldest first. Only the jobs in the time range are read.
+     */
+    public List<UploadJob> select(UploadJob.JobStatus status, String owner, LocalDateTime from, LocalDateTime to) {
+        if (from == null && to == null) {
+            List<UploadJob> selected = select(status, owner);
+            Collections.reverse(selected);
+            return selected;
+        }
+        if (from != null && to != null && from.isAfter(to)) return new ArrayList<>();
+        NavigableMap<Submitted, UploadJob> range = bySubmittedAt;
+        if (from != null) range = range.tailMap(new Submitted(from, Long.MIN_VALUE), true);
+        if (to != null) range = range.headMap(new Submitted(to, Long.MAX_VALUE), true);
+
+        String ownerKey = owner != null ? ownerKey(owner) : null;
+        List<UploadJob> selected = new ArrayList<>();
+        for (UploadJob job : range.values()) {
+            if ((status == null || job.getStatus() == status)
+                    && (ownerKey == null || ownerKey.equals(ownerKey(job.getOwner())))) {
+                selected.add(job);
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * The index of the jobs of an owner and/or status; it may briefly hold a job whose status just changed
+     */
+    private NavigableMap<Long, UploadJob> index(UploadJob.JobStatus status, String owner) {
+        if (owner != null && status != null) {
+            return byOwnerAndStatus.getOrDefault(ownerStatusKey(ownerKey(owner), status),
+                    Collections.emptyNavigableMap());
+        } else if (owner != null) {
+            return byOwner.getOrDefault(ownerKey(owner), Collections.emptyNavigableMap());
+        } else if (status != null) {
+            return byStatus.get(status.ordinal());
+        }
+        return bySubmission;
+    }
+
+    private void uncount(String uploadId) {
+        indexed.computeIfPresent(uploadId, (id, entry) -> {
+            unindex(entry);
+            return null;
+        });
+    }
+
+    // caller is inside the job's compute
+    private void unindex(Indexed entry) {
+        statusCounts[entry.status.ordinal()].decrement();
+        byStatus.get(entry.status.ordinal()).remove(entry.sequence);
+        bySubmission.remove(entry.sequence);
+        bySubmittedAt.remove(entry.submitted);
+        removeFrom(byOwner, entry.owner, entry.sequence);
+        removeFrom(byOwnerAndStatus, ownerStatusKey(entry.owner, entry.status), entry.sequence);
+    }
+
+    private static void addTo(Map<String, NavigableMap<Long, UploadJob>> indexes, String key,
+                              long sequence, UploadJob job) {
+        indexes.compute(key, (k, index) -> {
+            if (index == null) index = newIndex();
+            index.put(sequence, job);
+            return index;
+        });
+    }
+
+    private static void removeFrom(Map<String, NavigableMap<Long, UploadJob>> indexes, String key, long sequence) {
+        indexes.computeIfPresent(key, (k, index) -> {
+            index.remove(sequence);
+            return index.isEmpty() ? null : index;
+        });
+    }
+
+    private static NavigableMap<Long, UploadJob> newIndex() {
+        return new ConcurrentSkipListMap<>(Comparator.reverseOrder());
+    }
+
+    private static String ownerKey(String owner) {
+        return owner != null ? owner : "";
+    }
+
+    private static String ownerStatusKey(String ownerKey, UploadJob.JobStatus status) {
+        return status + "\0" + ownerKey;
+    }
+
+    private static long parseCursor(String cursor) {
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * The job, or null when it does not exist or has just expired; a finished job counts as used
+     */
+    public UploadJob get(String uploadId) {
+        UploadJob job = jobs.get(uploadId);
+        if (job == null || !job.isFinished()) return job;
+
+        Retained retained = finished.get(uploadId);
+        if (retained == null) return job;
+        if (ttlMillis <= 0 || clock.millis() - retained.finishedAt < ttlMillis) {
+            retained.referenced = true;
+            return job;
+        }
+        UploadJob evicted;
+        synchronized (this) {
+            if (finished.get(uploadId) != retained) return null; // evicted or deleted meanwhile
+            evicted = evict(uploadId);
+        }
+        notifyEvicted(List.of(evicted));
+        return null;
+    }
+
+    public synchronized boolean isExpired(String uploadId) {
+        return tombstones.containsKey(uploadId);
+    }
+
+    public UploadJob remove(String uploadId) {
+        UploadJob job = jobs.remove(uploadId);
+        if (job != null) uncount(uploadId);
+        synchronized (this) {
+            Retained retained = finished.remove(uploadId);
+            if (retained != null) {
+                evictionOrder.remove(uploadId);
+                retainedBytes -= retained.bytes;
+            }
+        }
+        return job;
+    }
+
+    public Collection<UploadJob> values() {
+        return jobs.values();
+    }
+
+    public int size() {
+        return jobs.size();
+    }
+
+    /**
+     * Start accounting a job that reached a final status, evicting others if the budget is exceeded.
+     * The job that just finished is kept even when it alone is over budget, so its results
+     * can be read at least once.
+     */
+    public void finished(UploadJob job) {
+        long bytes = estimateRetainedBytes(job);
+        job.setRetainedBytes(bytes);
+        List<UploadJob> evicted = new ArrayList<>();
+        synchronized (this) {
+            if (jobs.get(job.getUploadId()) != job || finished.containsKey(job.getUploadId())) return;
+            finished.put(job.getUploadId(), new Retained(bytes, clock.millis()));
+            evictionOrder.add(job.getUploadId());
+            retainedBytes += bytes;
+            // bounded, so readers touching jobs meanwhile cannot keep this loop going
+            int secondChances = finished.size();
+            while (retainedBytes > maxRetainedBytes && finished.size() > 1) {
+                String oldest = evictionOrder.iterator().next();
+                Retained retained = finished.get(oldest);
+                if (oldest.equals(job.getUploadId()) || (retained.referenced && secondChances-- > 0)) {
+                    // used since it was last considered: move it to the back instead
+                    retained.referenced = false;
+                    evictionOrder.remove(oldest);
+                    evictionOrder.add(oldest);
+                } else {
+                    evicted.add(evict(oldest));
+                }
+            }
+        }
+        notifyEvicted(evicted);
+    }
+
+    /**
+     * Evict every finished job older than the time-to-live; run periodically
+     */
+    public void evictExpired() {
+        if (ttlMillis <= 0) return;
+        long cutoff = clock.millis() - ttlMillis;
+        List<UploadJob> evicted = new ArrayList<>();
+        synchronized (this) {
+            List<String> expired = new ArrayList<>();
+            finished.forEach((uploadId, retained) -> {
+                if (retained.finishedAt <= cutoff) expired.add(uploadId);
+            });
+            for (String uploadId : expired) {
+                evicted.add(evict(uploadId));
+            }
+        }
+        notifyEvicted(evicted);
+    }
+
+    public synchronized long getRetainedBytes() { return retainedBytes; }
+    public synchronized long getEvictedJobs() { return evictedJobs; }
+
+    private void notifyEvicted(List<UploadJob> evicted) {
+        for (UploadJob job : evicted) {
+            if (job != null) onEvict.accept(job); // null when deleted while being evicted
+        }
+    }
+
+    // caller holds the lock
+    private UploadJob evict(String uploadId) {
+        Retained retained = finished.remove(uploadId);
+        evictionOrder.remove(uploadId);
+        retainedBytes -= retained.bytes;
+        evictedJobs++;
+        tombstones.put(uploadId, Boolean.TRUE);
+        UploadJob job = jobs.remove(uploadId);
+        if (job != null) uncount(uploadId);
+        return job;
+    }
+
+    /**
+     * Approximate heap held by a finished job: its result map and any payload it still holds
+     */
+    public static long estimateRetainedBytes(UploadJob job) {
+        long bytes = JOB_OVERHEAD_BYTES;
+        Map<String, ChannelStats> results = job.getResults();
+        if (results != null) {
+            for (String key : results.keySet()) {
+                // the key, and the device and channel names it is made of
+                bytes += SERIES_OVERHEAD_BYTES + 2L * key.length();
+            }
+        }
+        byte[] rawData = job.getRawData();
+        if (rawData != null) bytes += rawData.length;
+        return bytes;
+    }
+
+    /**
+     * A page of jobs and the cursor of the next page, null on the last page
+     */
+    public static final class Page {
+        private final List<UploadJob> jobs;
+        private final String nextCursor;
+
+        Page(List<UploadJob> jobs, String nextCursor) {
+            this.jobs = jobs;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<UploadJob> getJobs() { return jobs; }
+        public String getNextCursor() { return nextCursor; }
+    }
+
+    private static final class Indexed {
+        final long sequence;
+        final Submitted submitted;
+        final String owner;
+        UploadJob.JobStatus status;
+
+        Indexed(long sequence, LocalDateTime submittedAt, UploadJob.JobStatus status, String owner) {
+            this.sequence = sequence;
+            this.submitted = new Submitted(submittedAt, sequence);
+            this.status = status;
+            this.owner = owner;
+        }
+    }
+
+    // the sequence keeps jobs submitted at the same instant apart
+    private record Submitted(LocalDateTime at, long sequence) {}
+
+    private static final class Retained {
+        final long bytes;
+        final long finishedAt;
+        // set by reads without the lock, cleared when the job gets a second chance
+        volatile boolean referenced;
+
+        Retained(long bytes, long finishedAt) {
+            this.bytes = bytes;
+            this.finishedAt = finishedAt;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.sensor.services.results;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A results body rendered once, with its gzip encoding and strong entity tags for both
+ */
+public class RenderedResult implements ResultBody {
+
+    // smaller bodies are not worth compressing
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    private final byte[] body;
+    private final byte[] gzipped;
+    private final String etag;
+
+    public RenderedResult(byte[] body) {
+        this.body = body;
+        this.gzipped = body.length >= GZIP_MIN_BYTES ? gzip(body) : null;
+        this.etag = digest(body);
+    }
+
+    public byte[] getBody() { return body; }
+
+    @Override
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(body);
+    }
+
+    /**
+     * The gzip-encoded body, or null when the body is too small to be worth compressing
+     */
+    public byte[] getGzipped() { return gzipped; }
+
+    /**
+     * Entity tag of the identity or gzip encoding; the encodings are different representations,
+     * so their strong tags differ
+     */
+    public String etag(boolean gzip) {
+        return gzip ? "\"" + etag + "-gz\"" : "\"" + etag + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header names either encoding of this body
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null) return false;
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*")) return true;
+            if (tag.startsWith("W/")) tag = tag.substring(2); // If-None-Match compares weakly
+            if (tag.equals(etag(false)) || tag.equals(etag(true))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Heap held by the rendered encodings
+     */
+    public long size() {
+        return body.length + (gzipped != null ? gzipped.length : 0) + 128L;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String digest(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
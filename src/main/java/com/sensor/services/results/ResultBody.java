@@ -0,0 +1,13 @@
+package com.sensor.services.results;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A results document ready to be written to a response
+ */
+@FunctionalInterface
+public interface ResultBody {
+
+    void writeTo(OutputStream out) throws IOException;
+}
@@ -0,0 +1,96 @@
+package com.sensor.services.results;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Rendered results of completed jobs, keyed by upload and filter, evicting the least recently
+ * used bodies once their total size is over budget. Completed results never change, so entries
+ * only go away for space or when their job is evicted or deleted.
+ */
+public class ResultCache {
+
+    private final long maxBytes;
+
+    // guarded by this, in access order
+    private final LinkedHashMap<Key, RenderedResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // the cached filters of each upload, guarded by this
+    private final Map<String, Set<Key>> keysByUpload = new HashMap<>();
+    private long bytes;
+    private long hits;
+    private long misses;
+
+    public ResultCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized RenderedResult get(String uploadId, List<String> deviceIds, List<String> channels) {
+        RenderedResult rendered = entries.get(Key.of(uploadId, deviceIds, channels));
+        if (rendered != null) hits++; else misses++;
+        return rendered;
+    }
+
+    /**
+     * Cache a rendered body, evicting least recently used ones to stay within budget; a body
+     * larger than the whole budget is not cached
+     */
+    public synchronized void put(String uploadId, List<String> deviceIds, List<String> channels,
+                                 RenderedResult rendered) {
+        if (rendered.size() > maxBytes) return;
+        Key key = Key.of(uploadId, deviceIds, channels);
+        RenderedResult previous = entries.put(key, rendered);
+        if (previous != null) bytes -= previous.size();
+        bytes += rendered.size();
+        keysByUpload.computeIfAbsent(uploadId, id -> new HashSet<>()).add(key);
+        Iterator<Map.Entry<Key, RenderedResult>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<Key, RenderedResult> entry = eldest.next();
+            bytes -= entry.getValue().size();
+            eldest.remove();
+            forget(entry.getKey());
+        }
+    }
+
+    /**
+     * Drop every rendering of an upload
+     */
+    public synchronized void invalidate(String uploadId) {
+        Set<Key> keys = keysByUpload.remove(uploadId);
+        if (keys == null) return;
+        for (Key key : keys) {
+            bytes -= entries.remove(key).size();
+        }
+    }
+
+    private void forget(Key key) {
+        Set<Key> keys = keysByUpload.get(key.uploadId());
+        keys.remove(key);
+        if (keys.isEmpty()) keysByUpload.remove(key.uploadId());
+    }
+
+    public synchronized long getBytes() { return bytes; }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+
+    /**
+     * An upload and its filter in canonical form: selector order and repeats do not change the result
+     */
+    private record Key(String uploadId, List<String> deviceIds, List<String> channels) {
+
+        static Key of(String uploadId, List<String> deviceIds, List<String> channels) {
+            return new Key(uploadId, canonical(deviceIds), canonical(channels));
+        }
+
+        private static List<String> canonical(Collection<String> selectors) {
+            if (selectors == null || selectors.isEmpty()) return List.of();
+            return List.copyOf(new TreeSet<>(selectors));
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.sensor.services.results;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.sensor.dto.UploadJob;
+import com.sensor.dto.response.ChannelStats;
+import com.sensor.dto.response.JobProgress;
+import com.sensor.dto.response.ResultResponse;
+import com.sensor.dto.response.SeriesStatistics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+
+/**
+ * Writes the results of a finished job straight from its statistics as the same JSON document the
+ * controller returns for {@code ApiResponse<ResultResponse>}, without building the intermediate
+ * response objects and per-series DTOs, so a document of any size can be streamed with constant
+ * memory. The envelope timestamp is the job's end time, so the rendering of a job is deterministic.
+ * Batch documents wrap one result response or error per upload in the same envelope.
+ */
+public final class ResultJson {
+
+    public static final String MESSAGE = "Results retrieved successfully";
+
+    // the caller owns the output stream
+    private static final JsonFactory JSON = JsonFactory.builder().disable(StreamWriteFeature.AUTO_CLOSE_TARGET).build();
+
+    // series field names, encoded once
+    private static final SerializableString DEVICE_ID = new SerializedString("deviceId");
+    private static final SerializableString CHANNEL = new SerializedString("channel");
+    private static final SerializableString COUNT = new SerializedString("count");
+    private static final SerializableString MIN = new SerializedString("min");
+    private static final SerializableString MAX = new SerializedString("max");
+    private static final SerializableString AVERAGE = new SerializedString("average");
+    private static final SerializableString STD_DEV = new SerializedString("stdDev");
+
+    public static final String BATCH_MESSAGE = "Batch results retrieved successfully";
+    private static final byte[] BATCH_START =
+            ("{\"success\":true,\"message\":\"" + BATCH_MESSAGE + "\",\"data\":[").getBytes(StandardCharsets.UTF_8);
+
+    private ResultJson() {}
+
+    public static void write(UploadJob job, Iterable<ChannelStats> statistics, OutputStream out) throws IOException {
+        try (JsonGenerator json = JSON.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeBooleanField("success", true);
+            json.writeStringField("message", MESSAGE);
+            json.writeFieldName("data");
+            writeData(json, job, statistics);
+            writeTime(json, "timestamp", job.getEndTime());
+            json.writeEndObject();
+        }
+    }
+
+    /**
+     * The {@code ResultResponse} of a finished job on its own, as an element of a batch
+     */
+    public static void writeData(UploadJob job, Iterable<ChannelStats> statistics, OutputStream out) throws IOException {
+        try (JsonGenerator json = JSON.createGenerator(out)) {
+            writeData(json, job, statistics);
+        }
+    }
+
+    /**
+     * A result response built for a job that has not finished, as an element of a batch
+     */
+    public static void writeData(ResultResponse response, OutputStream out) throws IOException {
+        try (JsonGenerator json = JSON.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("uploadId", response.getUploadId());
+            json.writeStringField("status", response.getStatus());
+            json.writeNumberField("acceptedCount", response.getAcceptedCount());
+            json.writeNumberField("rejectedCount", response.getRejectedCount());
+            json.writeStringField("errorMessage", response.getErrorMessage());
+            json.writeFieldName("statistics");
+            if (response.getStatistics() == null) {
+                json.writeNull();
+            } else {
+                json.writeStartArray();
+                for (SeriesStatistics stats : response.getStatistics()) {
+                    writeStats(json, stats.getDeviceId(), stats.getChannel(), stats.getCount(),
+                            stats.getMin(), stats.getMax(), stats.getAverage(), stats.getStdDev());
+                }
+                json.writeEndArray();
+            }
+            writeTime(json, "startTime", response.getStartTime());
+            writeTime(json, "endTime", response.getEndTime());
+            writeProgress(json, response.getProgress());
+            json.writeEndObject();
+        }
+    }
+
+    /**
+     * The outcome of an upload id that could not be resolved, as an element of a batch
+     */
+    public static void writeError(String uploadId, String errorCode, String message, OutputStream out) throws IOException {
+        try (JsonGenerator json = JSON.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("uploadId", uploadId);
+            json.writeStringField("errorCode", errorCode);
+            json.writeStringField("errorMessage", message);
+            json.writeEndObject();
+        }
+    }
+
+    /**
+     * A batch document whose data is the given elements, in order, each writing one JSON value
+     */
+    public static void writeBatch(Iterator<ResultBody> elements, OutputStream out) throws IOException {
+        out.write(BATCH_START);
+        boolean first = true;
+        while (elements.hasNext()) {
+            ResultBody element = elements.next();
+            if (!first) out.write(',');
+            first = false;
+            element.writeTo(out);
+        }
+        String timestamp = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.now());
+        out.write(("],\"timestamp\":\"" + timestamp + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeData(JsonGenerator json, UploadJob job, Iterable<ChannelStats> statistics) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("uploadId", job.getUploadId());
+        json.writeStringField("status", job.getStatus().toString());
+        json.writeNumberField("acceptedCount", job.getAcceptedCount());
+        json.writeNumberField("rejectedCount", job.getRejectedCount());
+        json.writeStringField("errorMessage", job.getErrorMessage());
+        json.writeFieldName("statistics");
+        json.writeStartArray();
+        for (ChannelStats stats : statistics) {
+            writeStats(json, stats);
+        }
+        json.writeEndArray();
+        writeTime(json, "startTime", job.getStartTime());
+        writeTime(json, "endTime", job.getEndTime());
+        json.writeNullField("progress");
+        json.writeEndObject();
+    }
+
+    /**
+     * One series, with the fields of {@link com.sensor.dto.response.SeriesStatistics}
+     */
+    public static void writeStats(JsonGenerator json, ChannelStats stats) throws IOException {
+        writeStats(json, stats.getDeviceId(), stats.getChannel(), stats.getCount(),
+                stats.getMin(), stats.getMax(), stats.getAverage(), stats.getStdDev());
+    }
+
+    private static void writeStats(JsonGenerator json, String deviceId, String channel, long count,
+                                   double min, double max, double average, double stdDev) throws IOException {
+        json.writeStartObject();
+        json.writeFieldName(DEVICE_ID);
+        json.writeString(deviceId);
+        json.writeFieldName(CHANNEL);
+        json.writeString(channel);
+        json.writeFieldName(COUNT);
+        json.writeNumber(count);
+        json.writeFieldName(MIN);
+        json.writeNumber(min);
+        json.writeFieldName(MAX);
+        json.writeNumber(max);
+        json.writeFieldName(AVERAGE);
+        json.writeNumber(average);
+        json.writeFieldName(STD_DEV);
+        json.writeNumber(stdDev);
+        json.writeEndObject();
+    }
+
+    private static void writeProgress(JsonGenerator json, JobProgress progress) throws IOException {
+        json.writeFieldName("progress");
+        if (progress == null) {
+            json.writeNull();
+            return;
+        }
+        json.writeStartObject();
+        json.writeNumberField("bytesProcessed", progress.getBytesProcessed());
+        json.writeNumberField("totalBytes", progress.getTotalBytes());
+        if (progress.getPercentComplete() == null) {
+            json.writeNullField("percentComplete");
+        } else {
+            json.writeNumberField("percentComplete", progress.getPercentComplete());
+        }
+        json.writeNumberField("rowsProcessed", progress.getRowsProcessed());
+        json.writeNumberField("rowsPerSecond", progress.getRowsPerSecond());
+        json.writeNumberField("elapsedMs", progress.getElapsedMs());
+        if (progress.getEstimatedRemainingMs() == null) {
+            json.writeNullField("estimatedRemainingMs");
+        } else {
+            json.writeNumberField("estimatedRemainingMs", progress.getEstimatedRemainingMs());
+        }
+        writeTime(json, "estimatedCompletion", progress.getEstimatedCompletion());
+        json.writeEndObject();
+    }
+
+    private static void writeTime(JsonGenerator json, String field, LocalDateTime time) throws IOException {
+        if (time == null) {
+            json.writeNullField(field);
+        } else {
+            json.writeStringField(field, DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(time));
+        }
+    }
+}
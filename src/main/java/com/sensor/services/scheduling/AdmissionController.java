@@ -0,0 +1,63 @@
+package com.sensor.services.scheduling;
+
+import com.sensor.exception.AdmissionRejectedException;
+
+import java.time.Duration;
+
+/**
+ * Bounds the work waiting for a worker. Every queued upload is admitted with its payload size
+ * and released when a worker picks it up; once either the number of queued uploads or their
+ * total bytes would exceed the budget, new uploads are rejected instead of piling up.
+ * A single upload larger than the byte budget is still admitted when nothing else is queued.
+ */
+public class AdmissionController {
+
+    private final int maxQueuedJobs;
+    private final long maxQueuedBytes;
+    private final Duration retryAfter;
+
+    private int queuedJobs;
+    private long queuedBytes;
+    private long rejectedJobs;
+
+    public AdmissionController(int maxQueuedJobs, long maxQueuedBytes, Duration retryAfter) {
+        this.maxQueuedJobs = maxQueuedJobs;
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Reserve queue space for an upload of the given size (negative when unknown, counted as 0)
+     * and return the bytes reserved, to be handed back to {@link #release(long)}
+     */
+    public synchronized long admit(long sizeBytes) {
+        long bytes = Math.max(sizeBytes, 0);
+        if (queuedJobs >= maxQueuedJobs) {
+            rejectedJobs++;
+            throw new AdmissionRejectedException(
+                    "Too many uploads queued (" + queuedJobs + "), retry later",
+                    AdmissionRejectedException.Reason.QUEUED_JOBS, retryAfter);
+        }
+        if (queuedJobs > 0 && queuedBytes + bytes > maxQueuedBytes) {
+            rejectedJobs++;
+            throw new AdmissionRejectedException(
+                    "Queued uploads exceed the byte budget (" + queuedBytes + " bytes), retry later",
+                    AdmissionRejectedException.Reason.QUEUED_BYTES, retryAfter);
+        }
+        queuedJobs++;
+        queuedBytes += bytes;
+        return bytes;
+    }
+
+    /**
+     * Hand back the reservation of an upload that left the queue
+     */
+    public synchronized void release(long bytes) {
+        queuedJobs--;
+        queuedBytes -= bytes;
+    }
+
+    public synchronized int getQueuedJobs() { return queuedJobs; }
+    public synchronized long getQueuedBytes() { return queuedBytes; }
+    public synchronized long getRejectedJobs() { return rejectedJobs; }
+}
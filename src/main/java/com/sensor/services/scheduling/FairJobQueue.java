@@ -0,0 +1,72 @@
+package com.sensor.services.scheduling;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Deficit round robin over per-owner queues, with job cost measured in payload bytes.
+ * Each time an owner's turn comes up it earns {@code quantum x weight} bytes of credit and
+ * runs jobs while the credit covers them, so an owner with a backlog of large uploads
+ * gets the same byte share as everyone else and cannot hold back other owners' small uploads.
+ * Jobs of one owner run in submission order.
+ */
+public class FairJobQueue implements JobQueue {
+
+    private final long quantumBytes;
+    private final Map<String, Integer> weights;
+    private final Map<String, OwnerQueue> owners = new HashMap<>();
+    private final ArrayDeque<OwnerQueue> active = new ArrayDeque<>();
+
+    public FairJobQueue(long quantumBytes, Map<String, Integer> weights) {
+        this.quantumBytes = Math.max(quantumBytes, 1);
+        this.weights = weights;
+    }
+
+    @Override
+    public void add(QueuedJob job) {
+        OwnerQueue owner = owners.computeIfAbsent(job.getOwner(),
+                name -> new OwnerQueue(quantumBytes * Math.max(weights.getOrDefault(name, 1), 1)));
+        if (owner.jobs.isEmpty()) active.addLast(owner);
+        owner.jobs.addLast(job);
+    }
+
+    @Override
+    public QueuedJob poll() {
+        while (!active.isEmpty()) {
+            OwnerQueue owner = active.peekFirst();
+            if (!owner.inTurn) {
+                owner.deficit += owner.quantum;
+                owner.inTurn = true;
+            }
+            QueuedJob head = owner.jobs.peekFirst();
+            long cost = Math.max(head.getSizeBytes(), 1);
+            if (cost <= owner.deficit) {
+                owner.deficit -= cost;
+                owner.jobs.pollFirst();
+                if (owner.jobs.isEmpty()) {
+                    // an idle owner does not bank credit
+                    active.pollFirst();
+                    owner.deficit = 0;
+                    owner.inTurn = false;
+                }
+                return head;
+            }
+            // turn over, keep the credit for the next round
+            owner.inTurn = false;
+            active.addLast(active.pollFirst());
+        }
+        return null;
+    }
+
+    private static final class OwnerQueue {
+        final long quantum;
+        final ArrayDeque<QueuedJob> jobs = new ArrayDeque<>();
+        long deficit;
+        boolean inTurn;
+
+        OwnerQueue(long quantum) {
+            this.quantum = quantum;
+        }
+    }
+}
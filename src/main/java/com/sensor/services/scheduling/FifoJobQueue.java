@@ -0,0 +1,21 @@
+package com.sensor.services.scheduling;
+
+import java.util.ArrayDeque;
+
+/**
+ * Jobs run in submission order
+ */
+public class FifoJobQueue implements JobQueue {
+
+    private final ArrayDeque<QueuedJob> jobs = new ArrayDeque<>();
+
+    @Override
+    public void add(QueuedJob job) {
+        jobs.addLast(job);
+    }
+
+    @Override
+    public QueuedJob poll() {
+        return jobs.pollFirst();
+    }
+}
@@ -0,0 +1,15 @@
+package com.sensor.services.scheduling;
+
+/**
+ * Ordering policy for uploads waiting for a worker.
+ * Implementations need not be thread-safe; {@link UploadScheduler} serializes access.
+ */
+public interface JobQueue {
+
+    void add(QueuedJob job);
+
+    /**
+     * Remove and return the job to run next, or null when the queue is empty
+     */
+    QueuedJob poll();
+}
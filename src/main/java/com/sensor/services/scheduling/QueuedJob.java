@@ -0,0 +1,32 @@
+package com.sensor.services.scheduling;
+
+import com.sensor.dto.UploadJob;
+
+/**
+ * An upload waiting for a worker
+ */
+public class QueuedJob {
+    private final String owner;
+    private final long sizeBytes;
+    private final UploadJob.Priority priority;
+    private final long enqueuedNanos;
+    private final Runnable task;
+
+    public QueuedJob(String owner, long sizeBytes, long enqueuedNanos, Runnable task) {
+        this(owner, sizeBytes, UploadJob.Priority.NORMAL, enqueuedNanos, task);
+    }
+
+    public QueuedJob(String owner, long sizeBytes, UploadJob.Priority priority, long enqueuedNanos, Runnable task) {
+        this.owner = owner;
+        this.sizeBytes = sizeBytes;
+        this.priority = priority;
+        this.enqueuedNanos = enqueuedNanos;
+        this.task = task;
+    }
+
+    public String getOwner() { return owner; }
+    public long getSizeBytes() { return sizeBytes; }
+    public UploadJob.Priority getPriority() { return priority; }
+    public long getEnqueuedNanos() { return enqueuedNanos; }
+    public Runnable getTask() { return task; }
+}
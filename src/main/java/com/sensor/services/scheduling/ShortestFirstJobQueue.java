@@ -0,0 +1,47 @@
+package com.sensor.services.scheduling;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Shortest-estimated-job-first by payload bytes, with aging: every second a job waits
+ * counts as {@code agingBytesPerSecond} fewer bytes. Since all queued jobs age at the same
+ * rate, the aged order is fixed at submission (size + rate x submission time), so a plain
+ * heap keeps it without re-sorting. A job of size S is overtaken only by jobs submitted
+ * less than S / rate seconds after it, which bounds the starvation of large uploads.
+ */
+public class ShortestFirstJobQueue implements JobQueue {
+
+    private final double agingBytesPerNano;
+    private final PriorityQueue<Entry> jobs = new PriorityQueue<>(
+            Comparator.comparingDouble((Entry entry) -> entry.rank).thenComparingLong(entry -> entry.sequence));
+    private long sequence;
+
+    public ShortestFirstJobQueue(long agingBytesPerSecond) {
+        this.agingBytesPerNano = agingBytesPerSecond / 1e9;
+    }
+
+    @Override
+    public void add(QueuedJob job) {
+        double rank = Math.max(job.getSizeBytes(), 0) + agingBytesPerNano * job.getEnqueuedNanos();
+        jobs.add(new Entry(job, rank, sequence++));
+    }
+
+    @Override
+    public QueuedJob poll() {
+        Entry entry = jobs.poll();
+        return entry != null ? entry.job : null;
+    }
+
+    private static final class Entry {
+        final QueuedJob job;
+        final double rank;
+        final long sequence;
+
+        Entry(QueuedJob job, double rank, long sequence) {
+            this.job = job;
+            this.rank = rank;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.sensor.services.scheduling;
+
+import com.sensor.dto.UploadJob;
+import com.sensor.dto.response.UserQueueStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Feeds queued uploads to the worker pool in the order chosen by a {@link JobQueue}.
+ * The pool only ever sees interchangeable "run the next job" tasks, so the choice of job
+ * is made when a worker becomes free rather than when the upload arrives.
+ * Each priority level has its own queue and a higher level is always drained first;
+ * the policy orders jobs within a level.
+ * Also keeps per-owner queue depth and wait-time figures for the status endpoint.
+ */
+public class UploadScheduler {
+
+    public static final String ANONYMOUS = "anonymous";
+
+    private final Executor workers;
+    private final JobQueue[] queues;
+    private final Map<String, OwnerStats> owners = new TreeMap<>();
+
+    public UploadScheduler(Executor workers, Supplier<JobQueue> policy) {
+        this.workers = workers;
+        this.queues = new JobQueue[UploadJob.Priority.values().length];
+        for (int i = 0; i < queues.length; i++) queues[i] = policy.get();
+    }
+
+    public void submit(String owner, long sizeBytes, UploadJob.Priority priority, Runnable task) {
+        String name = owner != null ? owner : ANONYMOUS;
+        synchronized (this) {
+            queues[priority.ordinal()].add(new QueuedJob(name, sizeBytes, priority, System.nanoTime(), task));
+            OwnerStats stats = owners.computeIfAbsent(name, key -> new OwnerStats());
+            stats.queuedJobs++;
+            stats.queuedBytes += Math.max(sizeBytes, 0);
+        }
+        workers.execute(this::runNext);
+    }
+
+    private void runNext() {
+        QueuedJob job;
+        synchronized (this) {
+            job = null;
+            for (int level = queues.length - 1; job == null && level >= 0; level--) {
+                job = queues[level].poll();
+            }
+            if (job == null) return;
+            OwnerStats stats = owners.get(job.getOwner());
+            long waitMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - job.getEnqueuedNanos());
+            stats.queuedJobs--;
+            stats.queuedBytes -= Math.max(job.getSizeBytes(), 0);
+            stats.dispatchedJobs++;
+            stats.totalWaitMs += waitMs;
+            stats.maxWaitMs = Math.max(stats.maxWaitMs, waitMs);
+        }
+        job.getTask().run();
+    }
+
+    /**
+     * Queue depth and wait times of every owner that has submitted an upload
+     */
+    public synchronized List<UserQueueStatus> ownerStatus() {
+        List<UserQueueStatus> status = new ArrayList<>(owners.size());
+        owners.forEach((owner, stats) -> status.add(new UserQueueStatus(owner, stats.queuedJobs, stats.queuedBytes,
+                stats.dispatchedJobs,
+                stats.dispatchedJobs > 0 ? stats.totalWaitMs / stats.dispatchedJobs : 0,
+                stats.maxWaitMs)));
+        return status;
+    }
+
+    private static final class OwnerStats {
+        long queuedJobs;
+        long queuedBytes;
+        long dispatchedJobs;
+        long totalWaitMs;
+        long maxWaitMs;
+    }
+}
@@ -4,6 +4,7 @@ import com.sensor.services.security.filter.JwtAuthenticationFilter;
 import com.sensor.services.security.filter.RateLimiterFilter;
 import com.sensor.services.security.implementations.FileStorageService;
 import com.sensor.services.security.implementations.UserInfoUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -65,6 +66,8 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(WHITE_LIST_URL).permitAll()
+                        // re-dispatches of an already authorized async request (event streams)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session ->
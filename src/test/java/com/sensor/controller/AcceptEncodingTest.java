@@ -0,0 +1,22 @@
+package com.sensor.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AcceptEncodingTest {
+
+    @Test
+    void gzipNeedsANonZeroQuality() {
+        assertTrue(SensorController.acceptsGzip("gzip"));
+        assertTrue(SensorController.acceptsGzip("br, GZIP;q=0.5"));
+        assertTrue(SensorController.acceptsGzip("deflate, *;q=0.1"));
+        assertFalse(SensorController.acceptsGzip(null));
+        assertFalse(SensorController.acceptsGzip("gzip;q=0"));
+        assertFalse(SensorController.acceptsGzip("gzip; q=0.0, identity"));
+        assertFalse(SensorController.acceptsGzip("*, gzip;q=0"));
+        assertFalse(SensorController.acceptsGzip("x-gzip"));
+        assertFalse(SensorController.acceptsGzip("identity, *;q=0"));
+    }
+}
@@ -0,0 +1,110 @@
+package com.sensor.controller;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.services.implementations.ProcessingService;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.sensor.support.TestJobs.CSV_HEADER;
+import static com.sensor.support.TestJobs.awaitCompleted;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class DirectUploadTest {
+
+    private static final Pattern UPLOAD_ID = Pattern.compile("\"uploadId\":\"([^\"]+)\"");
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @Test
+    void uploadIsAcceptedOnceReadNotOnceProcessed() throws Exception {
+        // the worker reads the clock to roll the job's results up only after parsing it
+        HoldingClock clock = new HoldingClock(Thread.currentThread());
+        ProcessingProperties properties = new ProcessingProperties();
+        ProcessingService service = services.create(properties, clock);
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new SensorController(service, properties)).build();
+
+        byte[] csv = (CSV_HEADER + "1699920000000,sensor_1,temp,21.5\n").getBytes(StandardCharsets.UTF_8);
+        String body;
+        try {
+            body = mvc.perform(multipart("/api/v1/upload").file(new MockMultipartFile("file", "data.csv", "text/csv", csv)))
+                    .andExpect(status().isAccepted())
+                    .andReturn().getResponse().getContentAsString();
+            assertTrue(clock.holding.await(5, TimeUnit.SECONDS));
+            assertFalse(clock.timedOut.get(), "the upload was only accepted once the job was let finish");
+        } finally {
+            clock.release.countDown();
+        }
+
+        Matcher uploadId = UPLOAD_ID.matcher(body);
+        assertTrue(uploadId.find(), body);
+        awaitCompleted(service, uploadId.group(1));
+        assertEquals(1, service.getResults(uploadId.group(1), null, null).getAcceptedCount());
+    }
+
+    /**
+     * Holds every thread but the test's own until released, so a job cannot finish meanwhile
+     */
+    private static final class HoldingClock extends Clock {
+        final CountDownLatch holding;
+        final CountDownLatch release;
+        final AtomicBoolean timedOut;
+        private final Thread owner;
+        private final ZoneId zone;
+
+        HoldingClock(Thread owner) {
+            this(owner, ZoneOffset.UTC, new CountDownLatch(1), new CountDownLatch(1), new AtomicBoolean());
+        }
+
+        private HoldingClock(Thread owner, ZoneId zone, CountDownLatch holding, CountDownLatch release,
+                             AtomicBoolean timedOut) {
+            this.owner = owner;
+            this.zone = zone;
+            this.holding = holding;
+            this.release = release;
+            this.timedOut = timedOut;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return new HoldingClock(owner, zone, holding, release, timedOut);
+        }
+
+        @Override
+        public Instant instant() {
+            if (Thread.currentThread() != owner) {
+                holding.countDown();
+                try {
+                    if (!release.await(5, TimeUnit.SECONDS)) timedOut.set(true);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return Instant.parse("2023-11-14T00:00:00Z");
+        }
+    }
+}
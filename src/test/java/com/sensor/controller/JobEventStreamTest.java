@@ -0,0 +1,52 @@
+package com.sensor.controller;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.services.implementations.ProcessingService;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.sensor.support.TestJobs.CSV_HEADER;
+import static com.sensor.support.TestJobs.complete;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class JobEventStreamTest {
+
+    private static final Pattern STATUS_EVENT = Pattern.compile("^event:status$", Pattern.MULTILINE);
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @Test
+    void streamOfMoreFinishedJobsThanOneQueueHoldsStillCompletes() throws Exception {
+        ProcessingProperties properties = new ProcessingProperties();
+        ProcessingService service = services.create(properties);
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new SensorController(service, properties)).build();
+
+        // more snapshots than a subscription used to queue before dropping them
+        List<String> uploadIds = new ArrayList<>();
+        for (int i = 0; i < 1_500; i++) {
+            uploadIds.add(complete(service, CSV_HEADER + "1699920000000,sensor_1,temp," + i + "\n"));
+        }
+
+        MvcResult result = mvc.perform(get("/api/v1/events").param("uploadIds", String.join(",", uploadIds)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(30_000);
+
+        Matcher events = STATUS_EVENT.matcher(result.getResponse().getContentAsString());
+        int statusEvents = 0;
+        while (events.find()) statusEvents++;
+        assertEquals(uploadIds.size(), statusEvents);
+    }
+}
@@ -0,0 +1,140 @@
+package com.sensor.dto;
+
+import com.sensor.dto.response.ChannelStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UploadJobTest {
+
+    private static final int WRITERS = 16;
+
+    @Test
+    void countsAreExactUnderManyWriters() throws Exception {
+        UploadJob job = new UploadJob("job", null);
+        int rowsPerWriter = 200_000;
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + 1);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            // a reader must only ever see the counts grow
+            Future<Boolean> reader = pool.submit(() -> {
+                long last = 0;
+                while (writing.get()) {
+                    long seen = job.getAcceptedCount() + job.getRejectedCount();
+                    if (seen < last) return false;
+                    last = seen;
+                }
+                return true;
+            });
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                int writer = w;
+                writers.add(pool.submit(() -> {
+                    go.await();
+                    for (int i = 0; i < rowsPerWriter; i++) {
+                        if (writer % 2 == 0) {
+                            if (i % 10 == 0) job.incrementRejected(); else job.incrementAccepted();
+                        } else if (i % 1000 == 0) {
+                            job.addCounts(900, 100);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            go.countDown();
+            for (Future<?> writer : writers) writer.get();
+            writing.set(false);
+            assertTrue(reader.get());
+        } finally {
+            pool.shutdown();
+        }
+
+        // even writers count every row, odd writers add a batch of 1000 every 1000 rows
+        long perWriter = rowsPerWriter * 9L / 10;
+        assertEquals(WRITERS * perWriter, job.getAcceptedCount());
+        assertEquals(WRITERS * (rowsPerWriter - perWriter), job.getRejectedCount());
+    }
+
+    @Test
+    void exactlyOneRacingTransitionWins() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        try {
+            for (int round = 0; round < 500; round++) {
+                UploadJob job = new UploadJob("job-" + round, null);
+                assertTrue(job.start());
+                assertFalse(job.start());
+
+                CountDownLatch go = new CountDownLatch(1);
+                AtomicInteger winners = new AtomicInteger();
+                List<Future<?>> racers = new ArrayList<>();
+                for (int t = 0; t < WRITERS; t++) {
+                    int racer = t;
+                    racers.add(pool.submit(() -> {
+                        go.await();
+                        boolean won = switch (racer % 3) {
+                            case 0 -> job.complete(new HashMap<>());
+                            case 1 -> job.fail("boom");
+                            default -> job.cancel();
+                        };
+                        if (won) winners.incrementAndGet();
+                        return null;
+                    }));
+                }
+                go.countDown();
+                for (Future<?> racer : racers) racer.get();
+
+                assertEquals(1, winners.get());
+                assertTrue(job.isFinished());
+                assertNotNull(job.getStartTime());
+                assertNotNull(job.getEndTime());
+                assertEquals(job.getStatus() == UploadJob.JobStatus.COMPLETED, job.getErrorMessage() == null);
+                // a completion that lost the race must not leave its results behind
+                assertEquals(job.getStatus() == UploadJob.JobStatus.COMPLETED, job.getResults() != null);
+                assertEquals(job.getStatus() == UploadJob.JobStatus.COMPLETED, job.getResultIndex() != null);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void completionAfterCancelPublishesNoResults() {
+        UploadJob job = new UploadJob("job", null);
+        job.start();
+        assertTrue(job.cancel());
+
+        Map<String, ChannelStats> results = new HashMap<>();
+        results.put("sensor_001:temp", new ChannelStats("sensor_001", "temp"));
+        assertFalse(job.complete(results));
+        assertNull(job.getResults());
+        assertNull(job.getResultIndex());
+        assertEquals(0, job.getDeviceCount());
+    }
+
+    @Test
+    void finishedJobCannotRestartOrChange() {
+        UploadJob job = new UploadJob("job", null);
+        assertFalse(job.complete(new HashMap<>()));
+        assertTrue(job.cancelQueued());
+        assertFalse(job.start());
+        assertFalse(job.fail("late"));
+        assertEquals(UploadJob.JobStatus.CANCELLED, job.getStatus());
+        assertEquals("Job cancelled", job.getErrorMessage());
+    }
+}
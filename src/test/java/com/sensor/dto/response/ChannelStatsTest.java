@@ -0,0 +1,57 @@
+package com.sensor.dto.response;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChannelStatsTest {
+
+    @Test
+    void stdDevIsStableWithLargeOffset() {
+        ChannelStats stats = new ChannelStats("sensor_001", "temp");
+        // alternating 1e9 +/- 1: population stddev is exactly 1
+        for (int i = 0; i < 1_000_000; i++) {
+            stats.addValue(1e9 + (i % 2 == 0 ? 1 : -1));
+        }
+        assertEquals(1e9, stats.getAverage(), 1e-6);
+        assertEquals(1.0, stats.getStdDev(), 1e-6);
+    }
+
+    @Test
+    void maxOfNegativeValues() {
+        ChannelStats stats = new ChannelStats("sensor_001", "temp");
+        stats.addValue(-5);
+        stats.addValue(-2);
+        assertEquals(-2, stats.getMax());
+        assertEquals(-5, stats.getMin());
+    }
+
+    @Test
+    void mergeMatchesSequentialAggregation() {
+        Random random = new Random(42);
+        ChannelStats sequential = new ChannelStats("sensor_001", "temp");
+        ChannelStats[] parts = new ChannelStats[7];
+        for (int p = 0; p < parts.length; p++) {
+            parts[p] = new ChannelStats("sensor_001", "temp");
+        }
+        for (int i = 0; i < 100_000; i++) {
+            double value = 300 + random.nextGaussian() * 0.5;
+            sequential.addValue(value);
+            parts[random.nextInt(parts.length)].addValue(value);
+        }
+
+        ChannelStats merged = new ChannelStats("sensor_001", "temp");
+        for (ChannelStats part : parts) {
+            merged.merge(part);
+        }
+        merged.merge(new ChannelStats("sensor_001", "temp"));
+
+        assertEquals(sequential.getCount(), merged.getCount());
+        assertEquals(sequential.getMin(), merged.getMin());
+        assertEquals(sequential.getMax(), merged.getMax());
+        assertEquals(sequential.getAverage(), merged.getAverage(), 1e-9);
+        assertEquals(sequential.getStdDev(), merged.getStdDev(), 1e-9);
+    }
+}
@@ -0,0 +1,78 @@
+package com.sensor.services.aggregation;
+
+import com.sensor.dto.response.ChannelStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultIndexTest {
+
+    private final ResultIndex index = new ResultIndex(series(
+            "sensor_001", "sensor_002", "sensor_010", "gateway_1"));
+
+    @Test
+    void countsDistinctDevicesAndChannels() {
+        assertEquals(4, index.deviceCount());
+        assertEquals(3, index.channelCount());
+    }
+
+    @Test
+    void unfilteredQueryListsEverySeriesInOrder() {
+        List<String> all = keys(index.query(null, List.of()));
+        assertEquals(12, all.size());
+        assertEquals("gateway_1:acc_x", all.get(0));
+        assertEquals("sensor_010:temp", all.get(11));
+    }
+
+    @Test
+    void exactAndMultiValueSelectors() {
+        assertEquals(List.of("sensor_002:temp"), keys(index.query(List.of("sensor_002"), List.of("temp"))));
+        assertEquals(List.of("sensor_001:acc_x", "sensor_001:temp", "sensor_010:acc_x", "sensor_010:temp"),
+                keys(index.query(List.of("sensor_010", "sensor_001", "missing"), List.of("temp", "acc_x"))));
+    }
+
+    @Test
+    void prefixSelectorsAndOverlapsAreListedOnce() {
+        assertEquals(List.of("sensor_001:acc_y", "sensor_002:acc_y", "sensor_010:acc_y"),
+                keys(index.query(List.of("sensor_0*", "sensor_01*", "sensor_001"), List.of("acc_y"))));
+        assertEquals(List.of("gateway_1:acc_x", "gateway_1:acc_y"),
+                keys(index.query(List.of("gate*"), List.of("acc_*"))));
+        assertTrue(index.query(List.of("sensor_1*"), null).isEmpty());
+    }
+
+    @Test
+    void channelOnlyQueriesAreSortedByDevice() {
+        assertEquals(List.of("gateway_1:acc_x", "gateway_1:temp", "sensor_001:acc_x", "sensor_001:temp",
+                        "sensor_002:acc_x", "sensor_002:temp", "sensor_010:acc_x", "sensor_010:temp"),
+                keys(index.query(null, List.of("temp", "acc_x"))));
+    }
+
+    @Test
+    void linearMatchingAgreesWithTheIndex() {
+        assertTrue(ResultIndex.matches(null, "anything"));
+        assertTrue(ResultIndex.matches(List.of("temp", "acc_*"), "acc_z"));
+        assertFalse(ResultIndex.matches(List.of("temp", "acc_*"), "ac"));
+        assertTrue(ResultIndex.matches(List.of("*"), ""));
+    }
+
+    private static List<ChannelStats> series(String... devices) {
+        List<ChannelStats> series = new ArrayList<>();
+        for (String device : devices) {
+            for (String channel : List.of("temp", "acc_x", "acc_y")) {
+                ChannelStats stats = new ChannelStats(device, channel);
+                stats.addValue(1);
+                series.add(stats);
+            }
+        }
+        return series;
+    }
+
+    private static List<String> keys(List<ChannelStats> series) {
+        return series.stream().map(stats -> stats.getDeviceId() + ":" + stats.getChannel()).toList();
+    }
+}
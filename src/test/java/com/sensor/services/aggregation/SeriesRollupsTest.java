@@ -0,0 +1,143 @@
+package com.sensor.services.aggregation;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.response.ChannelStats;
+import com.sensor.dto.response.SeriesRollup;
+import com.sensor.services.implementations.ProcessingService;
+import com.sensor.support.ProcessingServices;
+import com.sensor.support.SettableClock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static com.sensor.support.TestJobs.CSV_HEADER;
+import static com.sensor.support.TestJobs.awaitCompleted;
+import static com.sensor.support.TestJobs.awaitWorkersIdle;
+import static com.sensor.support.TestJobs.complete;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeriesRollupsTest {
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @TempDir
+    Path spoolDir;
+
+    @Test
+    void concurrentUploadsMergeLikeSequentialOnes() throws Exception {
+        SeriesRollups rollups = new SeriesRollups(Clock.systemDefaultZone());
+        ChannelStats expected = new ChannelStats("sensor_1", "temp");
+        int threads = 8;
+        int uploadsPerThread = 500;
+        List<List<ChannelStats>> uploads = new ArrayList<>();
+        for (int i = 0; i < threads * uploadsPerThread; i++) {
+            List<ChannelStats> series = new ArrayList<>();
+            for (String channel : List.of("temp", "hum", "acc_x")) {
+                ChannelStats stats = new ChannelStats("sensor_1", channel);
+                for (int row = 0; row < 3; row++) stats.addValue(1e6 + Math.sin(i * 3 + row) * 10);
+                series.add(stats);
+                if (channel.equals("temp")) expected.merge(stats);
+            }
+            uploads.add(series);
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            List<List<ChannelStats>> mine = uploads.subList(t * uploadsPerThread, (t + 1) * uploadsPerThread);
+            writers.add(CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                mine.forEach(rollups::add);
+            }));
+        }
+        start.countDown();
+        CompletableFuture.allOf(writers.toArray(new CompletableFuture<?>[0])).get();
+
+        SeriesRollups.Snapshot temp = rollups.get("sensor_1", "temp");
+        assertEquals(3, rollups.size());
+        assertEquals(threads * uploadsPerThread, temp.uploads());
+        assertEquals(expected.getCount(), temp.allTime().getCount());
+        assertEquals(expected.getAverage(), temp.allTime().getAverage(), 1e-6);
+        assertEquals(expected.getStdDev(), temp.allTime().getStdDev(), 1e-6);
+        assertEquals(expected.getMin(), temp.allTime().getMin());
+        assertEquals(expected.getMax(), temp.allTime().getMax());
+        assertEquals(temp.allTime().getCount(), temp.sinceMidnight().getCount());
+    }
+
+    @Test
+    void sinceMidnightStartsOverEachDay() {
+        SettableClock clock = new SettableClock(Instant.parse("2026-10-16T23:59:00Z"));
+        SeriesRollups rollups = new SeriesRollups(clock);
+        rollups.add(List.of(stats(10)));
+
+        clock.advance(Duration.ofMinutes(2));
+        assertEquals(0, rollups.get("sensor_1", "temp").sinceMidnight().getCount());
+        rollups.add(List.of(stats(20)));
+
+        SeriesRollups.Snapshot snapshot = rollups.get("sensor_1", "temp");
+        assertEquals(2, snapshot.allTime().getCount());
+        assertEquals(15, snapshot.allTime().getAverage(), 1e-9);
+        assertEquals(1, snapshot.sinceMidnight().getCount());
+        assertEquals(20, snapshot.sinceMidnight().getAverage(), 1e-9);
+        assertNull(rollups.get("sensor_1", "hum"));
+    }
+
+    @Test
+    void rollupsOutliveDeletedJobs() throws Exception {
+        ProcessingService service = services.create(new ProcessingProperties());
+        String first = complete(service,
+                CSV_HEADER + "1699920000000,sensor_1,temp,4\n1699920000001,sensor_1,hum,50\n");
+        String second = complete(service, CSV_HEADER + "1699920000002,sensor_1,temp,8\n");
+        assertTrue(service.deleteJob(first));
+        assertTrue(service.deleteJob(second));
+
+        SeriesRollup temp = service.getRollup("sensor_1", "temp");
+        assertNotNull(temp);
+        assertEquals(2, temp.getUploads());
+        assertEquals(2, temp.getAllTime().getCount());
+        assertEquals(6, temp.getAllTime().getAverage(), 1e-9);
+        assertEquals(2, temp.getSinceMidnight().getCount());
+        assertEquals(1, service.getRollup("sensor_1", "hum").getUploads());
+        assertNull(service.getRollup("sensor_2", "temp"));
+    }
+
+    @Test
+    void replaysAreNotRolledUpAgain() throws Exception {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setSpoolDir(spoolDir.toString());
+        properties.setSpoolRetention(Duration.ofHours(1));
+        ProcessingService service = services.create(properties);
+        String original = complete(service, CSV_HEADER + "1699920000000,sensor_1,temp,4\n1699920000001,sensor_1,temp,8\n");
+
+        awaitCompleted(service, service.replayUpload(original));
+        awaitWorkersIdle(service);
+
+        SeriesRollup temp = service.getRollup("sensor_1", "temp");
+        assertEquals(1, temp.getUploads());
+        assertEquals(2, temp.getAllTime().getCount());
+        assertEquals(2, temp.getSinceMidnight().getCount());
+    }
+
+    private static ChannelStats stats(double value) {
+        ChannelStats stats = new ChannelStats("sensor_1", "temp");
+        stats.addValue(value);
+        return stats;
+    }
+}
@@ -0,0 +1,62 @@
+package com.sensor.services.aggregation;
+
+import com.sensor.dto.response.ChannelStats;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SeriesTableTest {
+
+    @Test
+    void seriesOfCollidingNamesStaySeparateAcrossResizes() {
+        List<String> names = SymbolTableTest.colliding(5);
+        SeriesTable table = new SeriesTable();
+        for (int round = 0; round < 2; round++) {
+            for (String device : names) {
+                for (String channel : names) {
+                    byte[] row = (device + "," + channel).getBytes(StandardCharsets.UTF_8);
+                    table.stats(row, 0, device.length(), device.length() + 1, channel.length()).addValue(1.0);
+                }
+            }
+        }
+
+        assertEquals(names.size() * names.size(), table.size());
+        Map<String, ChannelStats> byKey = table.toMap();
+        assertEquals(table.size(), byKey.size());
+        for (ChannelStats stats : byKey.values()) {
+            assertEquals(2, stats.getCount());
+        }
+    }
+
+    @Test
+    void deviceAndChannelAreNotInterchangeable() {
+        byte[] row = "sensor_1,temp,temp,sensor_1".getBytes(StandardCharsets.UTF_8);
+        SeriesTable table = new SeriesTable();
+
+        int forward = table.seriesId(row, 0, 8, 9, 4);
+        int swapped = table.seriesId(row, 14, 4, 19, 8);
+
+        assertNotEquals(forward, swapped);
+        assertEquals("sensor_1", table.get(forward).getDeviceId());
+        assertEquals("temp", table.get(swapped).getDeviceId());
+    }
+
+    @Test
+    void byteRangesAndDecodedNamesShareOneSeries() {
+        byte[] first = "1699920000000,sensor_1,temp,1.0".getBytes(StandardCharsets.UTF_8);
+        byte[] second = "x,sensor_1,temp".getBytes(StandardCharsets.UTF_8);
+        SeriesTable table = new SeriesTable();
+
+        ChannelStats stats = table.stats(first, 14, 8, 23, 4);
+        assertSame(stats, table.stats(second, 2, 8, 11, 4));
+        assertSame(stats, table.stats("sensor_1", "temp"));
+        assertEquals(1, table.size());
+        assertEquals(Map.of("sensor_1:temp", stats), table.toMap());
+    }
+}
@@ -0,0 +1,95 @@
+package com.sensor.services.aggregation;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SymbolTableTest {
+
+    @Test
+    void symbolsWithEqualHashesGetDistinctIds() {
+        // "Aa" and "BB" hash alike, so every string of such pairs lands in the same probe chain
+        List<String> colliding = colliding(6);
+        SymbolTable table = new SymbolTable(8);
+        List<Integer> ids = new ArrayList<>();
+        for (String symbol : colliding) {
+            ids.add(intern(table, symbol));
+        }
+
+        assertEquals(colliding.size(), new HashSet<>(ids).size());
+        assertEquals(colliding.size(), table.size());
+        for (int i = 0; i < colliding.size(); i++) {
+            assertEquals(ids.get(i), intern(table, colliding.get(i)));
+            assertEquals(colliding.get(i), table.name(ids.get(i)));
+        }
+    }
+
+    @Test
+    void idsSurviveResizing() {
+        SymbolTable table = new SymbolTable(8);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, intern(table, "sensor_" + i));
+        }
+        assertEquals(10_000, table.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, intern(table, "sensor_" + i));
+            assertEquals("sensor_" + i, table.name(i));
+        }
+    }
+
+    @Test
+    void equalBytesAtDifferentOffsetsAreOneSymbol() {
+        byte[] row = "temp,sensor_1,xtempx,sensor_12".getBytes(StandardCharsets.UTF_8);
+        SymbolTable table = new SymbolTable();
+
+        int temp = table.intern(row, 0, 4);
+        assertEquals(temp, table.intern(row, 15, 4));
+        assertEquals(temp, table.intern("temp"));
+
+        int sensor1 = table.intern(row, 5, 8);
+        assertEquals(sensor1, table.intern(row, 21, 8));
+        int sensor12 = table.intern(row, 21, 9);
+
+        assertEquals(3, table.size());
+        assertEquals("sensor_1", table.name(sensor1));
+        assertEquals("sensor_12", table.name(sensor12));
+    }
+
+    @Test
+    void emptyAndMultiByteSymbols() {
+        SymbolTable table = new SymbolTable();
+        int empty = table.intern("");
+        int degrees = table.intern("temp_°C");
+
+        assertEquals(empty, table.intern(new byte[4], 2, 0));
+        byte[] bytes = "x temp_°C".getBytes(StandardCharsets.UTF_8);
+        assertEquals(degrees, table.intern(bytes, 2, bytes.length - 2));
+        assertEquals("temp_°C", table.name(degrees));
+    }
+
+    private static int intern(SymbolTable table, String symbol) {
+        // copied into a larger buffer at an offset, as the tokenizer passes them
+        byte[] bytes = symbol.getBytes(StandardCharsets.UTF_8);
+        byte[] buffer = new byte[bytes.length + 7];
+        System.arraycopy(bytes, 0, buffer, 3, bytes.length);
+        return table.intern(buffer, 3, bytes.length);
+    }
+
+    static List<String> colliding(int pairs) {
+        List<String> strings = List.of("");
+        for (int i = 0; i < pairs; i++) {
+            List<String> longer = new ArrayList<>(strings.size() * 2);
+            for (String prefix : strings) {
+                longer.add(prefix + "Aa");
+                longer.add(prefix + "BB");
+            }
+            strings = longer;
+        }
+        return strings;
+    }
+}
@@ -0,0 +1,102 @@
+package com.sensor.services.events;
+
+import com.sensor.dto.response.JobEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobEventBusTest {
+
+    private final JobEventBus bus = new JobEventBus(2);
+
+    @AfterEach
+    void shutdown() {
+        bus.shutdown();
+    }
+
+    @Test
+    void blockedSubscriberDoesNotDelayOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        bus.subscribe(List.of("a"), event -> await(release)).start();
+        CountDownLatch delivered = new CountDownLatch(1);
+        bus.subscribe(List.of("a"), event -> delivered.countDown()).start();
+
+        bus.publish(new JobEvent(JobEvent.Type.STATUS, "a", "PROCESSING"));
+        try {
+            assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void waitingProgressIsCoalescedAndKeepsItsPlaceInOrder() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<JobEvent> received = new CopyOnWriteArrayList<>();
+        CountDownLatch finished = new CountDownLatch(1);
+        JobEventBus.Subscription subscription = bus.subscribe(List.of("a"), event -> {
+            if (received.isEmpty()) await(release);
+            received.add(event);
+            if (event.isFinal()) finished.countDown();
+        });
+        subscription.start();
+
+        bus.publish(new JobEvent(JobEvent.Type.STATUS, "a", "PROCESSING"));
+        for (int i = 1; i <= 100; i++) {
+            JobEvent progress = new JobEvent(JobEvent.Type.PROGRESS, "a", "PROCESSING");
+            progress.setAcceptedCount(i);
+            bus.publish(progress);
+        }
+        bus.publish(new JobEvent(JobEvent.Type.STATUS, "a", "COMPLETED"));
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+
+        assertEquals(3, received.size());
+        assertEquals(JobEvent.Type.PROGRESS, received.get(1).getType());
+        assertEquals(100, received.get(1).getAcceptedCount());
+        assertEquals("COMPLETED", received.get(2).getStatus());
+    }
+
+    @Test
+    void subscriberThatFallsTooFarBehindIsClosedAndTold() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<JobEvent> received = new CopyOnWriteArrayList<>();
+        AtomicInteger overflows = new AtomicInteger();
+        CountDownLatch overflowed = new CountDownLatch(1);
+        bus.subscribe(List.of("a"), event -> {
+            await(release);
+            received.add(event);
+        }, () -> {
+            overflows.incrementAndGet();
+            overflowed.countDown();
+        }).start();
+
+        for (int i = 0; i < 2_000; i++) {
+            bus.publish(new JobEvent(JobEvent.Type.STATUS, "a", "PROCESSING"));
+        }
+        assertFalse(bus.hasSubscribers("a"));
+        release.countDown();
+        assertTrue(overflowed.await(5, TimeUnit.SECONDS));
+
+        bus.publish(new JobEvent(JobEvent.Type.STATUS, "a", "COMPLETED"));
+        assertEquals(1, overflows.get());
+        assertTrue(received.size() <= 1, "dropped events must not be delivered after the overflow");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
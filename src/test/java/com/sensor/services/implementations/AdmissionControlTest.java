@@ -0,0 +1,102 @@
+package com.sensor.services.implementations;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.response.StatusResponse;
+import com.sensor.exception.AdmissionRejectedException;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import static com.sensor.support.TestJobs.awaitActiveWorkers;
+import static com.sensor.support.TestJobs.awaitQueueDrained;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdmissionControlTest {
+
+    private static final byte[] CSV =
+            "timestamp_ms,device_id,channel,value\n1699920000000,sensor_001,temp,21.5\n"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @TempDir
+    Path spoolDir;
+
+    @Test
+    void uploadsBeyondTheQueueBudgetAreRejected() throws Exception {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setWorkerThreads(1);
+        properties.setMaxQueuedJobs(2);
+        properties.setSpoolDir(spoolDir.toString());
+        ProcessingService service = services.create(properties);
+
+        // occupy the only worker with an upload that is still arriving
+        PipedOutputStream sender = new PipedOutputStream();
+        PipedInputStream body = new PipedInputStream(sender);
+        CompletableFuture<String> blocking = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.submitUpload(body, -1);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        awaitActiveWorkers(service, 1);
+
+        service.submitUpload(new ByteArrayInputStream(CSV), CSV.length);
+        service.submitUpload(new ByteArrayInputStream(CSV), CSV.length);
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+                () -> service.submitUpload(new ByteArrayInputStream(CSV), CSV.length));
+        assertEquals(AdmissionRejectedException.Reason.QUEUED_JOBS, rejected.getReason());
+
+        StatusResponse status = service.getSystemStatus();
+        assertEquals(2, status.getQueuedJobs());
+        assertEquals(2L * CSV.length, status.getQueuedBytes());
+        assertEquals(1, status.getRejectedUploads());
+
+        sender.write(CSV);
+        sender.close();
+        blocking.get();
+        awaitQueueDrained(service);
+        assertEquals(0, service.getSystemStatus().getQueuedBytes());
+    }
+
+    @Test
+    void queuedBytesOverBudgetAreRejected() throws Exception {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setWorkerThreads(1);
+        properties.setMaxQueuedBytes(DataSize.ofBytes(CSV.length + 10));
+        properties.setSpoolDir(spoolDir.toString());
+        ProcessingService service = services.create(properties);
+
+        PipedOutputStream sender = new PipedOutputStream();
+        PipedInputStream body = new PipedInputStream(sender);
+        CompletableFuture<String> blocking = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.submitUpload(body, -1);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        awaitActiveWorkers(service, 1);
+
+        service.submitUpload(new ByteArrayInputStream(CSV), CSV.length);
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+                () -> service.submitUpload(new ByteArrayInputStream(CSV), CSV.length));
+        assertEquals(AdmissionRejectedException.Reason.QUEUED_BYTES, rejected.getReason());
+
+        sender.close();
+        blocking.get();
+        awaitQueueDrained(service);
+    }
+}
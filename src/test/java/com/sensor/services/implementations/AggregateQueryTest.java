@@ -0,0 +1,130 @@
+package com.sensor.services.implementations;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.UploadJob;
+import com.sensor.dto.response.AggregateResponse;
+import com.sensor.dto.response.ChannelStats;
+import com.sensor.dto.response.SeriesStatistics;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.sensor.support.TestJobs.awaitCompleted;
+import static com.sensor.support.TestJobs.awaitWorkersIdle;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AggregateQueryTest {
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @Test
+    void mergesAcrossUploadsPerGroup() throws Exception {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setChunkParallelism(4);
+        ProcessingService service = services.create(properties);
+        ChannelStats expected = new ChannelStats("sensor_1", null);
+        List<String> ids = new ArrayList<>();
+        for (int upload = 0; upload < 300; upload++) {
+            StringBuilder csv = new StringBuilder("timestamp_ms,device_id,channel,value\n");
+            for (int row = 0; row < 10; row++) {
+                double value = 1000 + Math.sin(upload * 10 + row) * 5;
+                csv.append(1699920000000L + row).append(",sensor_").append(row % 2).append(",temp,").append(value).append('\n');
+                csv.append(1699920000000L + row).append(",sensor_").append(row % 2).append(",hum,").append(-value).append('\n');
+                if (row % 2 == 1) expected.addValue(value);
+            }
+            ids.add(submit(service, csv.toString(), upload % 3 == 0 ? "bob" : "alice"));
+        }
+        for (String id : ids) awaitCompleted(service, id);
+        awaitWorkersIdle(service);
+
+        AggregateResponse byDevice = service.aggregate("DEVICE", null, null, null, null, null, List.of("temp"));
+        assertEquals(300, byDevice.getJobCount());
+        assertEquals(2, byDevice.getGroups().size());
+        SeriesStatistics sensor1 = byDevice.getGroups().get(1);
+        assertEquals("sensor_1", sensor1.getDeviceId());
+        assertNull(sensor1.getChannel());
+        assertEquals(expected.getCount(), sensor1.getCount());
+        assertEquals(expected.getAverage(), sensor1.getAverage(), 1e-9);
+        assertEquals(expected.getStdDev(), sensor1.getStdDev(), 1e-9);
+        assertEquals(expected.getMax(), sensor1.getMax());
+
+        AggregateResponse byChannel = service.aggregate("CHANNEL", null, null, "bob", null, List.of("sensor_*"), null);
+        assertEquals(100, byChannel.getJobCount());
+        assertEquals(List.of("hum", "temp"), byChannel.getGroups().stream().map(SeriesStatistics::getChannel).toList());
+        assertEquals(1000, byChannel.getGroups().get(0).getCount());
+
+        AggregateResponse series = service.aggregate(null, null, null, null, "COMPLETED", List.of("sensor_0"), null);
+        assertEquals(2, series.getGroups().size());
+        assertEquals(1500, series.getGroups().get(0).getCount());
+
+        assertEquals(0, service.aggregate(null, LocalDateTime.now().plusDays(1), null, null, null, null, null).getJobCount());
+        assertTrue(service.aggregate(null, null, LocalDateTime.now().minusDays(1), null, null, null, null).getGroups().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> service.aggregate("OWNER", null, null, null, null, null, null));
+    }
+
+    @Test
+    void processingUploadsContributeTheirLatestStatistics() throws Exception {
+        ProcessingService service = services.create(new ProcessingProperties());
+        String streamId = service.openStream("alice");
+        service.appendToStream(streamId, new ByteArrayInputStream(
+                "1699920000000,sensor_1,temp,4\n1699920000001,sensor_1,temp,6\n".getBytes(StandardCharsets.UTF_8)),
+                UploadJob.PayloadFormat.CSV);
+
+        AggregateResponse live = service.aggregate(null, null, null, null, "PROCESSING", null, null);
+        assertEquals(1, live.getJobCount());
+        assertEquals(5, live.getGroups().get(0).getAverage(), 1e-9);
+        assertEquals(0, service.aggregate(null, null, null, null, null, null, null).getJobCount());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void aggregateOverTenThousandJobs() throws Exception {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setMaxQueuedJobs(20_000);
+        ProcessingService service = services.create(properties);
+        List<String> ids = new ArrayList<>();
+        for (int upload = 0; upload < 10_000; upload++) {
+            StringBuilder csv = new StringBuilder("timestamp_ms,device_id,channel,value\n");
+            for (int series = 0; series < 20; series++) {
+                csv.append(1699920000000L + series).append(",sensor_").append((upload + series) % 50)
+                        .append(",ch_").append(series % 4).append(',').append(upload * 0.01 + series).append('\n');
+            }
+            ids.add(submit(service, csv.toString(), "user_" + upload % 10));
+        }
+        for (String id : ids) awaitCompleted(service, id);
+        awaitWorkersIdle(service);
+
+        for (int round = 0; round < 10; round++) {
+            boolean report = round >= 7; // earlier rounds warm up
+            time(report, "all jobs, by series    ", () -> service.aggregate(null, null, null, null, null, null, null));
+            time(report, "all jobs, temp by device", () -> service.aggregate("DEVICE", null, null, null, null, null, List.of("ch_1")));
+            time(report, "one owner, by channel  ", () -> service.aggregate("CHANNEL", null, null, "user_3", null, null, null));
+        }
+    }
+
+    private void time(boolean report, String label, java.util.function.Supplier<AggregateResponse> query) {
+        long start = System.nanoTime();
+        AggregateResponse response = query.get();
+        if (report) {
+            System.out.printf("%s %6d jobs %5d groups %7.1f ms%n", label, response.getJobCount(),
+                    response.getGroups().size(), (System.nanoTime() - start) / 1e6);
+        }
+    }
+
+    private String submit(ProcessingService service, String csv, String owner) throws Exception {
+        byte[] payload = csv.getBytes(StandardCharsets.UTF_8);
+        return service.submitUpload(new ByteArrayInputStream(payload), payload.length, false,
+                UploadJob.PayloadFormat.CSV, owner, UploadJob.Priority.NORMAL);
+    }
+}
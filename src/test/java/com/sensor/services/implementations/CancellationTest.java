@@ -0,0 +1,111 @@
+package com.sensor.services.implementations;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.UploadJob;
+import com.sensor.dto.response.ResultResponse;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.sensor.support.TestJobs.awaitFinished;
+import static com.sensor.support.TestJobs.awaitQueueDrained;
+import static com.sensor.support.TestJobs.awaitRunningJob;
+import static com.sensor.support.TestJobs.holdWorker;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CancellationTest {
+
+    private static final byte[] CSV =
+            "timestamp_ms,device_id,channel,value\n1699920000000,sensor_001,temp,21.5\n"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @TempDir
+    Path spoolDir;
+
+    @Test
+    void runningParseStopsWithinABoundedNumberOfRows() throws Exception {
+        ProcessingService service = services.create(properties(2));
+        // an upload that never ends on its own
+        CompletableFuture<String> upload = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.submitUpload(new ProcessingServiceStreamingTest.SyntheticCsvStream(Long.MAX_VALUE), -1);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        String uploadId = awaitRunningJob(service);
+
+        assertTrue(service.cancelJob(uploadId));
+        upload.get();
+        ResultResponse cancelled = service.getResults(uploadId, null, null);
+        assertEquals("CANCELLED", cancelled.getStatus());
+
+        long rows = cancelled.getAcceptedCount() + cancelled.getRejectedCount();
+        Thread.sleep(50);
+        ResultResponse later = service.getResults(uploadId, null, null);
+        assertEquals(rows, later.getAcceptedCount() + later.getRejectedCount());
+        assertFalse(service.cancelJob(uploadId));
+    }
+
+    @Test
+    void queuedJobIsCancelledWithoutRunning() throws Exception {
+        ProcessingService service = services.create(properties(1));
+        PipedOutputStream gate = holdWorker(service);
+
+        String queued = service.submitUpload(new ByteArrayInputStream(CSV), CSV.length);
+        assertTrue(service.cancelJob(queued));
+        assertEquals("CANCELLED", service.getResults(queued, null, null).getStatus());
+
+        gate.close();
+        awaitQueueDrained(service);
+        ResultResponse result = service.getResults(queued, null, null);
+        assertEquals("CANCELLED", result.getStatus());
+        assertEquals(0, result.getAcceptedCount());
+        assertTrue(service.deleteJob(queued));
+    }
+
+    @Test
+    void higherPriorityUploadsRunFirst() throws Exception {
+        ProcessingService service = services.create(properties(1));
+        PipedOutputStream gate = holdWorker(service);
+
+        List<String> submitted = new ArrayList<>();
+        for (UploadJob.Priority priority : new UploadJob.Priority[]{
+                UploadJob.Priority.LOW, UploadJob.Priority.NORMAL, UploadJob.Priority.HIGH}) {
+            submitted.add(service.submitUpload(new ByteArrayInputStream(CSV), CSV.length, false,
+                    UploadJob.PayloadFormat.CSV, "alice", priority));
+        }
+        gate.close();
+        awaitQueueDrained(service);
+
+        List<ResultResponse> results = new ArrayList<>();
+        for (String uploadId : submitted) {
+            results.add(awaitFinished(service, uploadId));
+        }
+        results.sort(Comparator.comparing(ResultResponse::getStartTime));
+        assertEquals(List.of(submitted.get(2), submitted.get(1), submitted.get(0)),
+                results.stream().map(ResultResponse::getUploadId).toList());
+    }
+
+    private ProcessingProperties properties(int workers) {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setWorkerThreads(workers);
+        properties.setSpoolDir(spoolDir.toString());
+        return properties;
+    }
+}
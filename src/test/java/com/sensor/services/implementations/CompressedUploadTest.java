@@ -0,0 +1,104 @@
+package com.sensor.services.implementations;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.response.ResultResponse;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+import static com.sensor.support.TestJobs.awaitFinished;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompressedUploadTest {
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void gzipUploadMatchesRawUpload() throws Exception {
+        Path raw = writeCsv(tempDir.resolve("upload.csv"), 2L * 1024 * 1024);
+        Path gzip = gzip(raw, tempDir.resolve("upload.csv.gz"));
+
+        for (boolean streaming : new boolean[]{true, false}) {
+            ProcessingProperties properties = new ProcessingProperties();
+            properties.setStreamingEnabled(streaming);
+
+            ResultResponse expected = process(properties, raw, false);
+            ResultResponse actual = process(properties, gzip, true);
+
+            assertEquals("COMPLETED", actual.getStatus());
+            assertEquals(expected.getAcceptedCount(), actual.getAcceptedCount());
+            assertEquals(expected.getRejectedCount(), actual.getRejectedCount());
+            assertEquals(expected.getStatistics().size(), actual.getStatistics().size());
+        }
+    }
+
+    @Test
+    void corruptGzipFailsTheJob() throws Exception {
+        Path raw = writeCsv(tempDir.resolve("upload.csv"), 4096);
+        ResultResponse result = process(new ProcessingProperties(), raw, true);
+        assertEquals("FAILED", result.getStatus());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void compressedVersusRawThroughput() throws Exception {
+        long rawBytes = 128L * 1024 * 1024;
+        Path raw = writeCsv(tempDir.resolve("bench.csv"), rawBytes);
+        Path gzip = gzip(raw, tempDir.resolve("bench.csv.gz"));
+        ProcessingProperties properties = new ProcessingProperties();
+
+        // warm-up
+        process(properties, raw, false);
+        process(properties, gzip, true);
+
+        long rawNanos = time(properties, raw, false);
+        long gzipNanos = time(properties, gzip, true);
+        System.out.printf("raw : %d MB on the wire, %.1f MB/s of CSV%n",
+                Files.size(raw) >> 20, Files.size(raw) / 1048576.0 / (rawNanos / 1e9));
+        System.out.printf("gzip: %d MB on the wire (%.1fx smaller), %.1f MB/s of CSV%n",
+                Files.size(gzip) >> 20, (double) Files.size(raw) / Files.size(gzip),
+                Files.size(raw) / 1048576.0 / (gzipNanos / 1e9));
+    }
+
+    private long time(ProcessingProperties properties, Path file, boolean gzipped) throws Exception {
+        long start = System.nanoTime();
+        process(properties, file, gzipped);
+        return System.nanoTime() - start;
+    }
+
+    private ResultResponse process(ProcessingProperties properties, Path file, boolean gzipped) throws Exception {
+        ProcessingService service = services.create(properties);
+        String uploadId;
+        try (InputStream in = Files.newInputStream(file)) {
+            uploadId = service.submitUpload(in, Files.size(file), gzipped);
+        }
+        return awaitFinished(service, uploadId, Duration.ofMinutes(2));
+    }
+
+    private Path writeCsv(Path target, long bytes) throws Exception {
+        try (InputStream in = new ProcessingServiceStreamingTest.SyntheticCsvStream(bytes)) {
+            Files.copy(in, target);
+        }
+        return target;
+    }
+
+    private Path gzip(Path source, Path target) throws Exception {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(target))) {
+            Files.copy(source, out);
+        }
+        return target;
+    }
+}
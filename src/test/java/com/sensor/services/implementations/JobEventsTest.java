@@ -0,0 +1,104 @@
+package com.sensor.services.implementations;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.response.JobEvent;
+import com.sensor.services.events.JobEventBus;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.sensor.support.TestJobs.awaitRunningJob;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobEventsTest {
+
+    private static final byte[] CSV =
+            "timestamp_ms,device_id,channel,value\n1699920000000,sensor_001,temp,21.5\n"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @Test
+    void subscriberSeesEveryTransitionAndProgress() throws Exception {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setProgressInterval(Duration.ofMillis(20));
+        ProcessingService service = services.create(properties);
+
+        PipedOutputStream sender = new PipedOutputStream();
+        PipedInputStream body = new PipedInputStream(sender, 64 * 1024);
+        CompletableFuture<String> upload = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.submitUpload(body, -1);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        String uploadId = awaitRunningJob(service);
+
+        List<JobEvent> received = new CopyOnWriteArrayList<>();
+        CountDownLatch finished = new CountDownLatch(1);
+        JobEventBus.Subscription subscription = service.subscribe(List.of(uploadId), event -> {
+            received.add(event);
+            if (event.isFinal()) finished.countDown();
+        });
+
+        sender.write(CSV);
+        sender.flush();
+        Thread.sleep(100);
+        sender.close();
+        upload.get();
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+        subscription.close();
+
+        JobEvent first = received.get(0);
+        assertEquals(JobEvent.Type.STATUS, first.getType());
+        assertEquals("PROCESSING", first.getStatus());
+        assertTrue(received.stream().anyMatch(event -> event.getType() == JobEvent.Type.PROGRESS));
+        JobEvent last = received.get(received.size() - 1);
+        assertEquals("COMPLETED", last.getStatus());
+        assertEquals(1, last.getAcceptedCount());
+    }
+
+    @Test
+    void thousandsOfIdleSubscriptionsAreNotified() throws Exception {
+        ProcessingService service = services.create(new ProcessingProperties());
+        List<String> uploadIds = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            uploadIds.add(service.openStream("alice"));
+        }
+
+        int subscribers = 5000;
+        CountDownLatch finished = new CountDownLatch(subscribers * uploadIds.size());
+        for (int i = 0; i < subscribers; i++) {
+            service.subscribe(uploadIds, event -> {
+                if (event.isFinal()) finished.countDown();
+            });
+        }
+        for (String uploadId : uploadIds) {
+            service.closeStream(uploadId);
+        }
+        assertTrue(finished.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void unknownUploadCannotBeSubscribed() throws Exception {
+        ProcessingService service = services.create(new ProcessingProperties());
+        String uploadId = service.submitUpload(new ByteArrayInputStream(CSV), CSV.length);
+        assertNull(service.subscribe(List.of(uploadId, "missing"), event -> { }));
+    }
+}
@@ -0,0 +1,114 @@
+package com.sensor.services.implementations;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.response.ResultResponse;
+import com.sensor.dto.response.SeriesStatistics;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.sensor.support.TestJobs.awaitFinished;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Parallel chunked parsing must report exactly what the serial path reports
+ */
+class ProcessingServiceChunkedTest {
+
+    private static final long UPLOAD_BYTES = 4L * 1024 * 1024;
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @Test
+    void chunkedParseMatchesSerialParse() throws Exception {
+        ProcessingProperties serial = new ProcessingProperties();
+        serial.setParallelThreshold(DataSize.ofGigabytes(1));
+
+        ProcessingProperties chunked = new ProcessingProperties();
+        chunked.setParallelThreshold(DataSize.ofKilobytes(1));
+        chunked.setChunkSize(DataSize.ofKilobytes(64));
+        chunked.setChunkParallelism(4);
+
+        ResultResponse expected = process(serial);
+        ResultResponse actual = process(chunked);
+
+        assertEquals("COMPLETED", actual.getStatus());
+        assertTrue(actual.getRejectedCount() > 0);
+        assertEquals(expected.getAcceptedCount(), actual.getAcceptedCount());
+        assertEquals(expected.getRejectedCount(), actual.getRejectedCount());
+
+        Map<String, SeriesStatistics> expectedSeries = bySeries(expected);
+        Map<String, SeriesStatistics> actualSeries = bySeries(actual);
+        assertEquals(expectedSeries.keySet(), actualSeries.keySet());
+        for (String key : expectedSeries.keySet()) {
+            SeriesStatistics e = expectedSeries.get(key);
+            SeriesStatistics a = actualSeries.get(key);
+            assertEquals(e.getCount(), a.getCount());
+            assertEquals(e.getMin(), a.getMin());
+            assertEquals(e.getMax(), a.getMax());
+            assertEquals(e.getAverage(), a.getAverage(), 1e-9);
+            assertEquals(e.getStdDev(), a.getStdDev(), 1e-9);
+        }
+    }
+
+    @Test
+    void chunkBoundaryInsideQuotedLineBreakFallsBackToSerialParse() throws Exception {
+        // every record has a line break inside a quoted field, so most cuts land inside quotes
+        StringBuilder csv = new StringBuilder("timestamp_ms,device_id,channel,value\n");
+        for (int i = 0; csv.length() < 256 * 1024; i++) {
+            csv.append(1699920000000L + i).append(",\"sensor\n").append(i % 5).append("\",\"ch\n")
+                    .append(i % 3).append("\",").append(i * 0.5).append('\n');
+        }
+        byte[] upload = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        ProcessingProperties serial = new ProcessingProperties();
+        serial.setParallelThreshold(DataSize.ofGigabytes(1));
+
+        ProcessingProperties chunked = new ProcessingProperties();
+        chunked.setParallelThreshold(DataSize.ofKilobytes(1));
+        chunked.setChunkSize(DataSize.ofKilobytes(16));
+        chunked.setChunkParallelism(4);
+
+        ResultResponse expected = process(serial, upload);
+        ResultResponse actual = process(chunked, upload);
+
+        assertEquals("COMPLETED", actual.getStatus());
+        assertEquals(0, actual.getRejectedCount());
+        assertEquals(expected.getAcceptedCount(), actual.getAcceptedCount());
+        assertEquals(15, actual.getStatistics().size());
+        assertEquals(bySeries(expected), bySeries(actual));
+    }
+
+    private ResultResponse process(ProcessingProperties properties) throws Exception {
+        return process(properties, new ProcessingServiceStreamingTest.SyntheticCsvStream(UPLOAD_BYTES), UPLOAD_BYTES);
+    }
+
+    private ResultResponse process(ProcessingProperties properties, byte[] upload) throws Exception {
+        return process(properties, new ByteArrayInputStream(upload), upload.length);
+    }
+
+    private ResultResponse process(ProcessingProperties properties, InputStream upload, long size) throws Exception {
+        ProcessingService service = services.create(properties);
+        String uploadId = service.submitUpload(upload, size);
+
+        return awaitFinished(service, uploadId, Duration.ofMinutes(1));
+    }
+
+    private Map<String, SeriesStatistics> bySeries(ResultResponse result) {
+        Map<String, SeriesStatistics> series = new HashMap<>();
+        for (SeriesStatistics stats : result.getStatistics()) {
+            series.put(stats.getDeviceId() + ":" + stats.getChannel(), stats);
+        }
+        return series;
+    }
+}
@@ -0,0 +1,116 @@
+package com.sensor.services.implementations;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.response.ResultResponse;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static com.sensor.support.TestJobs.awaitFinished;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streams a synthetic upload larger than the test JVM heap (see surefire argLine in pom.xml)
+ */
+class ProcessingServiceStreamingTest {
+
+    private static final long UPLOAD_BYTES = 384L * 1024 * 1024;
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @Test
+    void uploadLargerThanHeapIsStreamed() throws Exception {
+        assertTrue(Runtime.getRuntime().maxMemory() < UPLOAD_BYTES,
+                "test must run with -Xmx below the upload size");
+
+        ProcessingService service = services.create(new ProcessingProperties());
+        SyntheticCsvStream upload = new SyntheticCsvStream(UPLOAD_BYTES);
+
+        String uploadId = service.submitUpload(upload);
+        ResultResponse result = awaitFinished(service, uploadId, Duration.ofMinutes(5));
+
+        assertEquals("COMPLETED", result.getStatus());
+        assertEquals(upload.getRows(), result.getAcceptedCount() + result.getRejectedCount());
+        assertEquals(upload.getInvalidRows(), result.getRejectedCount());
+        assertEquals(SyntheticCsvStream.DEVICES * SyntheticCsvStream.CHANNELS.length,
+                result.getStatistics().size());
+    }
+
+    @Test
+    void unexpectedParserErrorFailsTheJob() throws Exception {
+        ProcessingService service = services.create(new ProcessingProperties());
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() {
+                throw new IllegalStateException("broken upload stream");
+            }
+        };
+
+        String uploadId = service.submitUpload(broken);
+        ResultResponse result = awaitFinished(service, uploadId, Duration.ofMinutes(5));
+
+        assertEquals("FAILED", result.getStatus());
+        assertEquals("broken upload stream", result.getErrorMessage());
+    }
+
+    /**
+     * Generates CSV rows on the fly so the test itself never holds the payload
+     */
+    static class SyntheticCsvStream extends InputStream {
+        static final int DEVICES = 50;
+        static final String[] CHANNELS = {"acc_x", "acc_y", "acc_z", "temp"};
+
+        private final long limit;
+        private long produced;
+        private long rows;
+        private long invalidRows;
+        private byte[] line = "timestamp_ms,device_id,channel,value\n".getBytes(StandardCharsets.US_ASCII);
+        private int linePos;
+
+        SyntheticCsvStream(long limit) {
+            this.limit = limit;
+        }
+
+        long getRows() { return rows; }
+        long getInvalidRows() { return invalidRows; }
+
+        @Override
+        public int read() {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (linePos == line.length && !nextLine()) return -1;
+            int n = Math.min(len, line.length - linePos);
+            System.arraycopy(line, linePos, b, off, n);
+            linePos += n;
+            produced += n;
+            return n;
+        }
+
+        private boolean nextLine() {
+            if (produced >= limit) return false;
+            long row = rows++;
+            String value;
+            if (row % 1000 == 999) {
+                value = "not_a_number";
+                invalidRows++;
+            } else {
+                value = Double.toString((row % 2000) / 100.0 - 10.0);
+            }
+            String text = (1699920000000L + row) + ",sensor_" + (row % DEVICES) + ","
+                    + CHANNELS[(int) (row / DEVICES % CHANNELS.length)] + "," + value + "\n";
+            line = text.getBytes(StandardCharsets.US_ASCII);
+            linePos = 0;
+            return true;
+        }
+    }
+}
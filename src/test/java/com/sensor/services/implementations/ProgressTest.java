@@ -0,0 +1,86 @@
+package com.sensor.services.implementations;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.response.JobProgress;
+import com.sensor.dto.response.ResultResponse;
+import com.sensor.dto.response.SeriesStatistics;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static com.sensor.support.TestJobs.await;
+import static com.sensor.support.TestJobs.awaitFinished;
+import static com.sensor.support.TestJobs.awaitRunningJob;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProgressTest {
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @Test
+    void processingJobPublishesProgressAndPartialStatistics() throws Exception {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setProgressInterval(Duration.ZERO);
+        ProcessingService service = services.create(properties);
+
+        StringBuilder csv = new StringBuilder("timestamp_ms,device_id,channel,value\n");
+        int half = 0;
+        for (int i = 0; i < 40_000; i++) {
+            if (i == 20_000) half = csv.length();
+            csv.append(1699920000000L + i).append(",sensor_").append(i % 5).append(",temp,").append(i % 100).append('\n');
+        }
+        byte[] payload = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        PipedOutputStream sender = new PipedOutputStream();
+        PipedInputStream body = new PipedInputStream(sender, 64 * 1024);
+        CompletableFuture<String> upload = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.submitUpload(body, payload.length);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        sender.write(payload, 0, half);
+        sender.flush();
+
+        String uploadId = awaitRunningJob(service);
+        await("partial statistics", () -> {
+            List<SeriesStatistics> partial = service.getResults(uploadId, null, null).getStatistics();
+            return partial != null && !partial.isEmpty();
+        });
+        ResultResponse live = service.getResults(uploadId, null, null);
+
+        assertEquals("PROCESSING", live.getStatus());
+        // a snapshot is taken between rows, so its counts add up to a whole number of flushes
+        long snapshotRows = live.getStatistics().stream().mapToLong(SeriesStatistics::getCount).sum();
+        assertEquals(0, snapshotRows % 8192);
+        assertTrue(snapshotRows <= live.getAcceptedCount());
+
+        JobProgress progress = live.getProgress();
+        assertNotNull(progress);
+        assertTrue(progress.getBytesProcessed() > 0 && progress.getBytesProcessed() <= payload.length);
+        assertEquals(payload.length, progress.getTotalBytes());
+        assertTrue(progress.getPercentComplete() > 0 && progress.getPercentComplete() < 100);
+        assertNotNull(progress.getEstimatedCompletion());
+        assertNotNull(service.getJobInfo(uploadId).get("progress"));
+
+        sender.write(payload, half, payload.length - half);
+        sender.close();
+        upload.get();
+        ResultResponse done = awaitFinished(service, uploadId);
+        assertEquals("COMPLETED", done.getStatus());
+        assertNull(done.getProgress());
+        assertEquals(40_000L, done.getStatistics().stream().mapToLong(SeriesStatistics::getCount).sum());
+    }
+}
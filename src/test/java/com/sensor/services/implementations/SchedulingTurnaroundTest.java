@@ -0,0 +1,116 @@
+package com.sensor.services.implementations;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.response.ResultResponse;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import static com.sensor.support.TestJobs.awaitActiveWorkers;
+import static com.sensor.support.TestJobs.awaitFinished;
+
+/**
+ * Turnaround of a burst of mixed-size uploads on a single worker, per scheduling policy.
+ * Turnaround is measured from the moment the burst was fully queued.
+ */
+class SchedulingTurnaroundTest {
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @Tag("benchmark")
+    void mixedWorkloadTurnaroundByPolicy() throws Exception {
+        Path small = writeCsv(tempDir.resolve("small.csv"), 16 * 1024);
+        Path large = writeCsv(tempDir.resolve("large.csv"), 4L * 1024 * 1024);
+        List<Path> workload = new ArrayList<>();
+        for (int i = 0; i < 270; i++) workload.add(small);
+        for (int i = 0; i < 30; i++) workload.add(large);
+        Collections.shuffle(workload, new Random(42));
+        run(properties(ProcessingProperties.SchedulingPolicy.FIFO, workload.size()), workload); // warm-up
+
+        for (ProcessingProperties.SchedulingPolicy policy : new ProcessingProperties.SchedulingPolicy[]{
+                ProcessingProperties.SchedulingPolicy.FIFO, ProcessingProperties.SchedulingPolicy.SHORTEST_FIRST}) {
+            List<Long> turnaround = run(properties(policy, workload.size()), workload);
+            Collections.sort(turnaround);
+            System.out.printf("%-14s p50 %5d ms  p99 %5d ms  max %5d ms%n", policy,
+                    percentile(turnaround, 0.50), percentile(turnaround, 0.99), turnaround.get(turnaround.size() - 1));
+        }
+    }
+
+    private ProcessingProperties properties(ProcessingProperties.SchedulingPolicy policy, int queuedJobs) {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setWorkerThreads(1);
+        properties.setMaxQueuedJobs(queuedJobs);
+        properties.setSchedulingPolicy(policy);
+        properties.setSpoolDir(tempDir.toString());
+        return properties;
+    }
+
+    private List<Long> run(ProcessingProperties properties, List<Path> workload) throws Exception {
+        ProcessingService service = services.create(properties);
+
+        // hold the worker until the whole burst is queued, so the policy decides the order
+        PipedOutputStream gate = new PipedOutputStream();
+        PipedInputStream gateBody = new PipedInputStream(gate);
+        CompletableFuture<String> holder = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.submitUpload(gateBody, -1);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        awaitActiveWorkers(service, 1);
+
+        List<String> uploadIds = new ArrayList<>();
+        for (Path file : workload) {
+            try (InputStream in = Files.newInputStream(file)) {
+                uploadIds.add(service.submitUpload(in, Files.size(file)));
+            }
+        }
+        LocalDateTime burstStart = LocalDateTime.now();
+        gate.close();
+        holder.get();
+
+        Map<String, LocalDateTime> submitted = new LinkedHashMap<>();
+        for (String uploadId : uploadIds) submitted.put(uploadId, burstStart);
+
+        List<Long> turnaround = new ArrayList<>();
+        for (Map.Entry<String, LocalDateTime> upload : submitted.entrySet()) {
+            ResultResponse result = awaitFinished(service, upload.getKey(), Duration.ofMinutes(5));
+            turnaround.add(Duration.between(upload.getValue(), result.getEndTime()).toMillis());
+        }
+        return turnaround;
+    }
+
+    private long percentile(List<Long> sorted, double p) {
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1));
+    }
+
+    private Path writeCsv(Path target, long bytes) throws Exception {
+        try (InputStream in = new ProcessingServiceStreamingTest.SyntheticCsvStream(bytes)) {
+            Files.copy(in, target);
+        }
+        return target;
+    }
+}
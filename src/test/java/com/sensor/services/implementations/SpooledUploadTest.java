@@ -0,0 +1,119 @@
+package com.sensor.services.implementations;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.response.ResultResponse;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static com.sensor.support.TestJobs.CSV_HEADER;
+import static com.sensor.support.TestJobs.await;
+import static com.sensor.support.TestJobs.awaitCompleted;
+import static com.sensor.support.TestJobs.awaitFinished;
+import static com.sensor.support.TestJobs.awaitQueueDrained;
+import static com.sensor.support.TestJobs.complete;
+import static com.sensor.support.TestJobs.holdWorker;
+import static com.sensor.support.TestJobs.submit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpooledUploadTest {
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @TempDir
+    Path spoolDir;
+
+    @Test
+    void spooledAndReplayedUploadsMatchTheInMemoryPath() throws Exception {
+        String csv = csv();
+
+        ProcessingProperties inMemory = properties(2);
+        inMemory.setStreamingEnabled(false);
+        ProcessingService reference = services.create(inMemory);
+        ResultResponse expected = awaitFinished(reference, complete(reference, csv));
+
+        // retention routes every upload through the spool
+        ProcessingProperties retained = properties(2);
+        retained.setSpoolRetention(Duration.ofHours(1));
+        ProcessingService service = services.create(retained);
+        String spooled = complete(service, csv);
+        assertTrue(spoolFiles(spooled) > 0);
+        String replayed = service.replayUpload(spooled);
+        awaitCompleted(service, replayed);
+
+        for (String uploadId : new String[] {spooled, replayed}) {
+            ResultResponse actual = service.getResults(uploadId, null, null);
+            assertEquals(expected.getAcceptedCount(), actual.getAcceptedCount());
+            assertEquals(expected.getRejectedCount(), actual.getRejectedCount());
+            assertEquals(expected.getStatistics(), actual.getStatistics());
+        }
+    }
+
+    @Test
+    void spoolFileIsDeletedWhenTheJobFails() throws Exception {
+        ProcessingService service = services.create(properties(1));
+        PipedOutputStream gate = holdWorker(service);
+
+        byte[] notGzip = csv().getBytes(StandardCharsets.UTF_8);
+        String uploadId = service.submitUpload(new ByteArrayInputStream(notGzip), notGzip.length, true);
+        assertEquals(1, spoolFiles(uploadId));
+
+        gate.close();
+        assertEquals("FAILED", awaitFinished(service, uploadId).getStatus());
+        await("the spool file of " + uploadId + " to be deleted", () -> spoolFiles(uploadId) == 0);
+    }
+
+    @Test
+    void spoolFileIsDeletedWhenAQueuedJobIsCancelled() throws Exception {
+        ProcessingService service = services.create(properties(1));
+        PipedOutputStream gate = holdWorker(service);
+
+        String uploadId = submit(service, csv());
+        assertEquals(1, spoolFiles(uploadId));
+        assertTrue(service.cancelJob(uploadId));
+
+        gate.close();
+        awaitQueueDrained(service);
+        assertEquals("CANCELLED", awaitFinished(service, uploadId).getStatus());
+        await("the spool file of " + uploadId + " to be deleted", () -> spoolFiles(uploadId) == 0);
+    }
+
+    private ProcessingProperties properties(int workers) {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setWorkerThreads(workers);
+        properties.setSpoolDir(spoolDir.toString());
+        return properties;
+    }
+
+    private long spoolFiles(String uploadId) {
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            return files.filter(f -> f.getFileName().toString().startsWith("upload-" + uploadId)).count();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csv() {
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (int i = 0; i < 2_000; i++) {
+            // quarter steps stay exact, so summation order cannot change the statistics
+            csv.append(1699920000000L + i).append(",sensor_").append(i % 7).append(',')
+                    .append(i % 2 == 0 ? "temp" : "humidity").append(',').append((i % 40) * 0.25).append('\n');
+        }
+        csv.append("1699920000000,sensor_0,temp,not-a-number\n");
+        return csv.toString();
+    }
+}
@@ -0,0 +1,136 @@
+package com.sensor.services.implementations;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.UploadJob;
+import com.sensor.dto.response.ResultResponse;
+import com.sensor.dto.response.SeriesStatistics;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static com.sensor.support.TestJobs.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StreamIngestionTest {
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @Test
+    void statisticsAreVisibleWhileTheStreamIsOpen() throws Exception {
+        ProcessingService service = services.create(new ProcessingProperties());
+        String streamId = service.openStream("alice");
+
+        PipedOutputStream sender = new PipedOutputStream();
+        PipedInputStream body = new PipedInputStream(sender, 64 * 1024);
+        CompletableFuture<Map<String, Object>> connection = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.appendToStream(streamId, body, UploadJob.PayloadFormat.CSV);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        write(sender, "timestamp_ms,device_id,channel,value\n");
+        for (int i = 0; i < 100; i++) {
+            write(sender, (1699920000000L + i) + ",sensor_001,temp," + i + "\n");
+        }
+        ResultResponse live = awaitAccepted(service, streamId, 100);
+        assertEquals("PROCESSING", live.getStatus());
+        assertEquals(1, live.getStatistics().size());
+        assertEquals(49.5, live.getStatistics().get(0).getAverage(), 1e-9);
+
+        write(sender, "1699920000100,sensor_002,temp,1\nnot,a,valid,row\n");
+        sender.close();
+        Map<String, Object> counts = connection.get();
+        assertEquals(101L, counts.get("acceptedCount"));
+        assertEquals(1L, counts.get("rejectedCount"));
+
+        service.closeStream(streamId);
+        ResultResponse result = service.getResults(streamId, null, null);
+        assertEquals("COMPLETED", result.getStatus());
+        assertEquals(101, result.getAcceptedCount());
+        assertEquals(2, result.getStatistics().size());
+        assertThrows(IllegalArgumentException.class, () -> service.appendToStream(
+                streamId, new ByteArrayInputStream(new byte[0]), UploadJob.PayloadFormat.CSV));
+    }
+
+    @Test
+    void ndjsonAndCsvConnectionsAggregateAlike() throws Exception {
+        StringBuilder csv = new StringBuilder();
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            long timestamp = i % 500 == 0 ? -1 : 1699920000000L + i;
+            String device = "sensor_" + (i % 7);
+            String channel = "ch_" + (i % 3);
+            double value = Math.cos(i) * 50;
+            csv.append(timestamp).append(',').append(device).append(',').append(channel).append(',').append(value).append('\n');
+            ndjson.append("{\"timestamp_ms\":").append(timestamp).append(",\"device_id\":\"").append(device)
+                    .append("\",\"channel\":\"").append(channel).append("\",\"value\":").append(value).append("}\n");
+        }
+        ndjson.append("{\"timestamp_ms\": 1699920000000, \"device_id\": \"sensor_0\"\n");
+
+        ResultResponse fromCsv = stream(csv.toString(), UploadJob.PayloadFormat.CSV);
+        ResultResponse fromNdjson = stream(ndjson.toString(), UploadJob.PayloadFormat.NDJSON);
+
+        assertEquals(fromCsv.getAcceptedCount(), fromNdjson.getAcceptedCount());
+        assertEquals(fromCsv.getRejectedCount() + 1, fromNdjson.getRejectedCount());
+        assertEquals(bySeries(fromCsv), bySeries(fromNdjson));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void streamThroughputPerConnection() throws Exception {
+        long bytes = 64L * 1024 * 1024;
+        ProcessingService service = services.create(new ProcessingProperties());
+        String streamId = service.openStream("alice");
+
+        long start = System.nanoTime();
+        try (InputStream in = new ProcessingServiceStreamingTest.SyntheticCsvStream(bytes)) {
+            service.appendToStream(streamId, in, UploadJob.PayloadFormat.CSV);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        ResultResponse result = service.getResults(streamId, null, null);
+        System.out.printf("csv stream: %.0f samples/s on one connection%n",
+                (result.getAcceptedCount() + result.getRejectedCount()) / seconds);
+    }
+
+    private ResultResponse stream(String body, UploadJob.PayloadFormat format) throws Exception {
+        ProcessingService service = services.create(new ProcessingProperties());
+        String streamId = service.openStream("alice");
+        service.appendToStream(streamId, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format);
+        service.closeStream(streamId);
+        return service.getResults(streamId, null, null);
+    }
+
+    private ResultResponse awaitAccepted(ProcessingService service, String streamId, long accepted) throws Exception {
+        await(accepted + " accepted samples",
+                () -> service.getResults(streamId, null, null).getAcceptedCount() >= accepted);
+        return service.getResults(streamId, null, null);
+    }
+
+    private void write(OutputStream out, String text) throws Exception {
+        out.write(text.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private Map<String, SeriesStatistics> bySeries(ResultResponse result) {
+        Map<String, SeriesStatistics> series = new HashMap<>();
+        for (SeriesStatistics stats : result.getStatistics()) {
+            series.put(stats.getDeviceId() + ":" + stats.getChannel(), stats);
+        }
+        return series;
+    }
+}
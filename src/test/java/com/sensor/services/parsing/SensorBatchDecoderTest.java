@@ -0,0 +1,94 @@
+package com.sensor.services.parsing;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.UploadJob;
+import com.sensor.dto.response.ResultResponse;
+import com.sensor.dto.response.SeriesStatistics;
+import com.sensor.dto.response.SensorSample;
+import com.sensor.services.implementations.ProcessingService;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.sensor.support.TestJobs.awaitFinished;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Binary batches must aggregate exactly like the equivalent CSV upload
+ */
+class SensorBatchDecoderTest {
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @Test
+    void binaryBatchMatchesCsv() throws Exception {
+        List<SensorSample> samples = new ArrayList<>();
+        StringBuilder csv = new StringBuilder("timestamp_ms,device_id,channel,value\n");
+        for (int i = 0; i < 20_000; i++) {
+            long timestamp = i % 500 == 0 ? -1 : 1699920000000L + i;
+            double value = i % 777 == 0 ? Double.NaN : Math.sin(i) * 100;
+            SensorSample sample = new SensorSample(timestamp, "sensor_" + (i % 13), "ch_" + (i % 5), value);
+            samples.add(sample);
+            csv.append(timestamp).append(',').append(sample.getDeviceId()).append(',')
+                    .append(sample.getChannel()).append(',').append(value).append('\n');
+        }
+
+        ResultResponse expected = process(csv.toString().getBytes(StandardCharsets.UTF_8), UploadJob.PayloadFormat.CSV);
+        ResultResponse actual = process(SensorBatchEncoder.encode(samples), UploadJob.PayloadFormat.BINARY);
+
+        assertEquals("COMPLETED", actual.getStatus());
+        assertEquals(expected.getAcceptedCount(), actual.getAcceptedCount());
+        assertEquals(expected.getRejectedCount(), actual.getRejectedCount());
+        assertEquals(bySeries(expected), bySeries(actual));
+    }
+
+    @Test
+    void unknownDictionaryIndexRejectsRecord() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SensorBatchEncoder encoder = new SensorBatchEncoder(bytes, List.of("sensor_001"), List.of("temp"))) {
+            encoder.write(1699920000000L, "sensor_001", "temp", 21.5);
+            encoder.write(1699920000001L, 3, 0, 22.5);
+        }
+        ResultResponse result = process(bytes.toByteArray(), UploadJob.PayloadFormat.BINARY);
+
+        assertEquals("COMPLETED", result.getStatus());
+        assertEquals(1, result.getAcceptedCount());
+        assertEquals(1, result.getRejectedCount());
+    }
+
+    @Test
+    void truncatedBatchFails() throws Exception {
+        byte[] batch = SensorBatchEncoder.encode(List.of(new SensorSample(1699920000000L, "sensor_001", "temp", 1)));
+        ResultResponse result = process(Arrays.copyOf(batch, batch.length - 3), UploadJob.PayloadFormat.BINARY);
+
+        assertEquals("FAILED", result.getStatus());
+    }
+
+    private ResultResponse process(byte[] payload, UploadJob.PayloadFormat format) throws Exception {
+        ProcessingService service = services.create(new ProcessingProperties());
+        String uploadId;
+        try (InputStream in = new ByteArrayInputStream(payload)) {
+            uploadId = service.submitUpload(in, payload.length, false, format);
+        }
+        return awaitFinished(service, uploadId);
+    }
+
+    private Map<String, SeriesStatistics> bySeries(ResultResponse result) {
+        Map<String, SeriesStatistics> series = new HashMap<>();
+        for (SeriesStatistics stats : result.getStatistics()) {
+            series.put(stats.getDeviceId() + ":" + stats.getChannel(), stats);
+        }
+        return series;
+    }
+}
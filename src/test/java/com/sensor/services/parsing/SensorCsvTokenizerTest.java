@@ -0,0 +1,138 @@
+package com.sensor.services.parsing;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.response.ResultResponse;
+import com.sensor.dto.response.SeriesStatistics;
+import com.sensor.services.implementations.ProcessingService;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.sensor.support.TestJobs.awaitFinished;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the byte tokenizer against the commons-csv path on the same inputs
+ */
+class SensorCsvTokenizerTest {
+
+    private static final String EDGE_CASES = String.join("\n",
+            "",
+            "device_id,timestamp_ms,channel,value,extra",
+            "sensor_001,1699920000000,acc_x,0.52,x",
+            "sensor_001,1699920000001,acc_x,-1.5e3,x\r",
+            "\"sensor,002\",1699920000002,\"acc \"\"y\"\"\",  12.25  ,x",
+            "\"multi",
+            "line\",1699920000003,temp,300.15,x",
+            "",
+            "sensor_003,1699920000004,temp,NaN,x",
+            "sensor_003,1699920000005,temp,Infinity,x",
+            "sensor_003,-5,temp,1.0,x",
+            "sensor_003,99999999999999999999,temp,1.0,x",
+            "sensor_003,abc,temp,1.0,x",
+            ",1699920000006,temp,1.0,x",
+            "sensor_003,1699920000007,,1.0,x",
+            "sensor_003,1699920000008,temp",
+            "sensor_003,1699920000009,temp,0x1p3,x",
+            "sensor_003,1699920000010,temp,1.23456789012345678901234,x",
+            "sensor_003,1699920000011,temp,1e-30,x",
+            "sensor_003,1699920000012,temp,.5,x",
+            "sensor_003,1699920000013,temp,5.,x",
+            "sensor_003,1699920000014,temp,-,x",
+            "sensor_003,1699920000015,temp,1e,x",
+            "sensor_004,+1699920000016,hum,42,x",
+            "sensor_004,1699920000017,hum,42",
+            "sensor_004,1699920000018,hum,4.2d,x",
+            "   ",
+            "sensor_004,1699920000019,hum,\"7\",x");
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @Test
+    void edgeCasesMatchCommonsCsv() throws Exception {
+        assertSameResults(EDGE_CASES.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void crlfAcrossBufferBoundariesMatchesCommonsCsv() throws Exception {
+        StringBuilder csv = new StringBuilder("timestamp_ms,device_id,channel,value\r\n");
+        for (int i = 0; i < 5000; i++) {
+            csv.append(1699920000000L + i).append(",sensor_").append(i % 7)
+                    .append(",ch_").append(i % 3).append(',').append(i * 0.01 - 20).append("\r\n");
+        }
+        assertSameResults(csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void sampleFilesMatchCommonsCsv() throws Exception {
+        assertSameResults(Files.readAllBytes(Path.of("submition important files/sensor_data.csv")));
+        assertSameResults(Files.readAllBytes(Path.of("submition important files/high_rejection.csv")));
+    }
+
+    @Test
+    void recordsOverTheLengthLimitAreSkippedAndRejected() throws Exception {
+        String huge = "x".repeat(10_000);
+        String csv = "timestamp_ms,device_id,channel,value\n"
+                + "1699920000000,sensor_001,temp,1.0\n"
+                + "1699920000001,\"" + huge + "\n" + huge + "\",temp,2.0\r\n"
+                + "1699920000002,sensor_002,temp,3.0\n"
+                + "1699920000003," + huge;
+        List<String> accepted = new ArrayList<>();
+        int[] rejected = new int[1];
+
+        new SensorCsvTokenizer(1024, 4096).parse(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), new SampleSink() {
+                    @Override
+                    public void accept(long timestamp, byte[] buffer, int deviceOffset, int deviceLength,
+                                       int channelOffset, int channelLength, double value) {
+                        accepted.add(new String(buffer, deviceOffset, deviceLength, StandardCharsets.UTF_8));
+                    }
+
+                    @Override
+                    public void reject() {
+                        rejected[0]++;
+                    }
+                });
+
+        assertEquals(List.of("sensor_001", "sensor_002"), accepted);
+        assertEquals(2, rejected[0]);
+    }
+
+    private void assertSameResults(byte[] csv) throws Exception {
+        ResultResponse expected = process(csv, ProcessingProperties.Parser.COMMONS_CSV);
+        ResultResponse actual = process(csv, ProcessingProperties.Parser.BYTE_TOKENIZER);
+
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getAcceptedCount(), actual.getAcceptedCount());
+        assertEquals(expected.getRejectedCount(), actual.getRejectedCount());
+        assertEquals(bySeries(expected), bySeries(actual));
+    }
+
+    private ResultResponse process(byte[] csv, ProcessingProperties.Parser parser) throws Exception {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setParser(parser);
+        properties.setReadBufferSize(1024);
+        ProcessingService service = services.create(properties);
+
+        String uploadId = service.submitUpload(new ByteArrayInputStream(csv));
+        return awaitFinished(service, uploadId);
+    }
+
+    private Map<String, SeriesStatistics> bySeries(ResultResponse result) {
+        Map<String, SeriesStatistics> series = new HashMap<>();
+        for (SeriesStatistics stats : result.getStatistics()) {
+            series.put(stats.getDeviceId() + ":" + stats.getChannel(), stats);
+        }
+        return series;
+    }
+}
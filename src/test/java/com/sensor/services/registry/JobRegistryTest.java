@@ -0,0 +1,288 @@
+package com.sensor.services.registry;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.UploadJob;
+import com.sensor.dto.response.ChannelStats;
+import com.sensor.exception.UploadExpiredException;
+import com.sensor.services.implementations.ProcessingService;
+import com.sensor.support.ProcessingServices;
+import com.sensor.support.SettableClock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.sensor.support.TestJobs.awaitCompleted;
+import static com.sensor.support.TestJobs.awaitWorkersIdle;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JobRegistryTest {
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @Test
+    void leastRecentlyUsedFinishedJobsAreEvictedOverBudget() {
+        List<UploadJob> evicted = new ArrayList<>();
+        UploadJob sample = completed("sample", 10);
+        long perJob = JobRegistry.estimateRetainedBytes(sample);
+        JobRegistry registry = new JobRegistry(Duration.ZERO, 3 * perJob, evicted::add);
+
+        UploadJob running = new UploadJob("running", null);
+        running.start();
+        registry.put(running);
+        for (String uploadId : List.of("a", "b", "c")) {
+            UploadJob job = completed(uploadId, 10);
+            registry.put(job);
+            registry.finished(job);
+        }
+        assertEquals(3 * perJob, registry.getRetainedBytes());
+
+        registry.get("a"); // now b is the least recently used
+        UploadJob d = completed("d", 10);
+        registry.put(d);
+        registry.finished(d);
+
+        assertEquals(List.of("b"), evicted.stream().map(UploadJob::getUploadId).toList());
+        assertNull(registry.get("b"));
+        assertTrue(registry.isExpired("b"));
+        assertNotNull(registry.get("a"));
+        assertNotNull(registry.get("running"));
+        assertEquals(3 * perJob, registry.getRetainedBytes());
+        assertEquals(perJob, d.getRetainedBytes());
+    }
+
+    @Test
+    void finishedJobsExpireAfterTheirTtl() {
+        SettableClock clock = new SettableClock(Instant.parse("2026-10-17T12:00:00Z"));
+        JobRegistry registry = new JobRegistry(Duration.ofMinutes(5), Long.MAX_VALUE, job -> { }, clock);
+        UploadJob job = completed("a", 1);
+        registry.put(job);
+        registry.finished(job);
+        clock.advance(Duration.ofMinutes(4));
+        registry.evictExpired();
+        assertNotNull(registry.get("a"));
+
+        clock.advance(Duration.ofMinutes(1));
+        registry.evictExpired();
+        assertNull(registry.get("a"));
+        assertTrue(registry.isExpired("a"));
+        assertFalse(registry.isExpired("never-existed"));
+        assertEquals(0, registry.getRetainedBytes());
+        assertEquals(1, registry.getEvictedJobs());
+    }
+
+    @Test
+    void deletedJobIsNotReportedAsExpired() {
+        JobRegistry registry = new JobRegistry(Duration.ZERO, Long.MAX_VALUE, job -> { });
+        UploadJob job = completed("a", 5);
+        registry.put(job);
+        registry.finished(job);
+        registry.remove("a");
+        assertNull(registry.get("a"));
+        assertFalse(registry.isExpired("a"));
+        assertEquals(0, registry.getRetainedBytes());
+    }
+
+    @Test
+    void expiredUploadIsReportedDistinctly() throws Exception {
+        SettableClock clock = new SettableClock(Instant.parse("2026-10-17T12:00:00Z"));
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setJobTtl(Duration.ofMinutes(5));
+        ProcessingService service = services.create(properties, clock);
+        byte[] csv = "timestamp_ms,device_id,channel,value\n1699920000000,sensor_001,temp,21.5\n"
+                .getBytes(StandardCharsets.UTF_8);
+        String uploadId = service.submitUpload(new ByteArrayInputStream(csv), csv.length);
+
+        awaitCompleted(service, uploadId);
+        awaitWorkersIdle(service); // retention counts from when the job is retired
+        clock.advance(Duration.ofMinutes(5));
+        assertThrows(UploadExpiredException.class, () -> service.getResults(uploadId, null, null));
+        assertNull(service.getResults("never-existed", null, null));
+    }
+
+    @Test
+    void statusCountsFollowTransitionsAndRemovals() throws Exception {
+        JobRegistry registry = new JobRegistry(Duration.ZERO, Long.MAX_VALUE, job -> { });
+        List<UploadJob> all = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            UploadJob job = new UploadJob("job-" + i, null);
+            registry.put(job);
+            all.add(job);
+        }
+        assertEquals(1000, registry.count(UploadJob.JobStatus.PENDING));
+
+        // workers and cancelling clients race on the same jobs
+        Thread workers = new Thread(() -> {
+            for (UploadJob job : all) {
+                if (job.start()) {
+                    registry.statusChanged(job);
+                    if (job.complete(new HashMap<>())) registry.statusChanged(job);
+                }
+            }
+        });
+        Thread clients = new Thread(() -> {
+            for (int i = all.size() - 1; i >= 0; i--) {
+                UploadJob job = all.get(i);
+                if (i % 3 == 0 && job.cancel()) registry.statusChanged(job);
+                if (i % 10 == 0) registry.remove(job.getUploadId());
+            }
+        });
+        workers.start();
+        clients.start();
+        workers.join();
+        clients.join();
+
+        for (UploadJob.JobStatus status : UploadJob.JobStatus.values()) {
+            long actual = registry.values().stream().filter(job -> job.getStatus() == status).count();
+            assertEquals(actual, registry.count(status), status.toString());
+        }
+        assertEquals(900, registry.size());
+    }
+
+    @Test
+    void pagesFollowCursorsThroughTheIndexes() {
+        JobRegistry registry = new JobRegistry(Duration.ZERO, Long.MAX_VALUE, job -> { });
+        for (int i = 0; i < 25; i++) {
+            UploadJob job = new UploadJob("job-" + i, null);
+            job.setOwner(i % 2 == 0 ? "alice" : "bob");
+            registry.put(job);
+            if (i % 3 == 0) {
+                job.start();
+                job.complete(new HashMap<>());
+                registry.statusChanged(job);
+            }
+        }
+
+        List<String> completed = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            JobRegistry.Page page = registry.page(UploadJob.JobStatus.COMPLETED, null, cursor, 4);
+            page.getJobs().forEach(job -> completed.add(job.getUploadId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+        assertEquals(List.of("job-24", "job-21", "job-18", "job-15", "job-12", "job-9", "job-6", "job-3", "job-0"),
+                completed);
+        assertEquals(3, pages);
+
+        JobRegistry.Page alice = registry.page(UploadJob.JobStatus.PENDING, "alice", null, 100);
+        assertEquals(8, alice.getJobs().size());
+        assertEquals("job-22", alice.getJobs().get(0).getUploadId());
+        assertNull(alice.getNextCursor());
+        assertThrows(IllegalArgumentException.class, () -> registry.page(null, null, "not-a-cursor", 10));
+    }
+
+    @Test
+    void ownerAndStatusPagesEndOnTheLastMatchingJob() {
+        JobRegistry registry = new JobRegistry(Duration.ZERO, Long.MAX_VALUE, job -> { });
+        List<UploadJob> jobs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            UploadJob job = new UploadJob("job-" + i, null);
+            job.setOwner("alice");
+            registry.put(job);
+            jobs.add(job);
+            // alice's few failures are spread among many pending jobs
+            if (i % 25 == 0) {
+                job.fail("boom");
+                registry.statusChanged(job);
+            }
+        }
+        // the oldest pending job fails, but its reindex has not happened yet
+        jobs.get(1).fail("late");
+
+        JobRegistry.Page first = registry.page(UploadJob.JobStatus.FAILED, "alice", null, 4);
+        assertEquals(List.of("job-175", "job-150", "job-125", "job-100"),
+                first.getJobs().stream().map(UploadJob::getUploadId).toList());
+        assertNotNull(first.getNextCursor());
+        JobRegistry.Page second = registry.page(UploadJob.JobStatus.FAILED, "alice", first.getNextCursor(), 4);
+        assertEquals(List.of("job-75", "job-50", "job-25", "job-0"),
+                second.getJobs().stream().map(UploadJob::getUploadId).toList());
+        assertNull(second.getNextCursor());
+
+        // a full page followed only by a job that has left the status is still the last page
+        JobRegistry.Page pending = registry.page(UploadJob.JobStatus.PENDING, "alice", null, 191);
+        assertEquals(191, pending.getJobs().size());
+        assertEquals("job-2", pending.getJobs().get(190).getUploadId());
+        assertNull(pending.getNextCursor());
+        assertEquals(191, registry.select(UploadJob.JobStatus.PENDING, "alice").size());
+    }
+
+    @Test
+    void timeRangeSelectionIncludesBothBounds() {
+        JobRegistry registry = new JobRegistry(Duration.ZERO, Long.MAX_VALUE, job -> { });
+        List<UploadJob> jobs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            UploadJob job = submittedAfter(jobs.isEmpty() ? null : jobs.get(i - 1), "job-" + i);
+            job.setOwner(i % 2 == 0 ? "alice" : "bob");
+            registry.put(job);
+            jobs.add(job);
+        }
+        LocalDateTime second = jobs.get(1).getSubmittedAt();
+        LocalDateTime fourth = jobs.get(3).getSubmittedAt();
+
+        assertEquals(List.of("job-1", "job-2", "job-3"), ids(registry.select(null, null, second, fourth)));
+        assertEquals(List.of("job-3", "job-4"), ids(registry.select(null, null, fourth, null)));
+        assertEquals(List.of("job-0", "job-1"), ids(registry.select(null, null, null, second)));
+        assertEquals(List.of("job-2"), ids(registry.select(UploadJob.JobStatus.PENDING, "alice", second, fourth)));
+        assertEquals(List.of(), ids(registry.select(null, null, fourth, second)));
+        assertEquals(List.of(), ids(registry.select(UploadJob.JobStatus.COMPLETED, null, second, fourth)));
+        assertEquals(5, registry.select(null, null, null, null).size());
+
+        registry.remove("job-2");
+        assertEquals(List.of("job-1", "job-3"), ids(registry.select(null, null, second, fourth)));
+    }
+
+    @Test
+    void serviceReportsCountsWithoutScanningJobs() throws Exception {
+        ProcessingService service = services.create(new ProcessingProperties());
+        byte[] csv = ("timestamp_ms,device_id,channel,value\n1699920000000,sensor_001,temp,21.5\n"
+                + "1699920000000,sensor_002,temp,1\n1699920000000,sensor_002,humidity,1\n")
+                .getBytes(StandardCharsets.UTF_8);
+        String uploadId = service.submitUpload(new ByteArrayInputStream(csv), csv.length);
+        awaitCompleted(service, uploadId);
+
+        Map<String, Object> info = service.getJobInfo(uploadId);
+        assertEquals(2, info.get("deviceCount"));
+        assertEquals(2, info.get("channelCount"));
+        assertEquals(1L, service.getSystemStatus().getJobsByStatus().get("COMPLETED"));
+        assertEquals(0, service.getSystemStatus().getPendingJobs());
+    }
+
+    // a job whose submission time is strictly after the previous one's
+    private static UploadJob submittedAfter(UploadJob previous, String uploadId) {
+        while (true) {
+            UploadJob job = new UploadJob(uploadId, null);
+            if (previous == null || job.getSubmittedAt().isAfter(previous.getSubmittedAt())) return job;
+        }
+    }
+
+    private static List<String> ids(List<UploadJob> jobs) {
+        return jobs.stream().map(UploadJob::getUploadId).toList();
+    }
+
+    private static UploadJob completed(String uploadId, int series) {
+        UploadJob job = new UploadJob(uploadId, null);
+        Map<String, ChannelStats> results = new HashMap<>();
+        for (int i = 0; i < series; i++) {
+            results.put("sensor_" + i + ":temp", new ChannelStats("sensor_" + i, "temp"));
+        }
+        job.start();
+        job.complete(results);
+        return job;
+    }
+}
@@ -0,0 +1,136 @@
+package com.sensor.services.results;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.UploadJob;
+import com.sensor.dto.response.JobProgress;
+import com.sensor.dto.response.ResultResponse;
+import com.sensor.dto.response.SeriesStatistics;
+import com.sensor.services.implementations.ProcessingService;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.sensor.support.TestJobs.CSV_HEADER;
+import static com.sensor.support.TestJobs.complete;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchResultsTest {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @Test
+    void resultsAndErrorsComeBackInRequestOrder() throws Exception {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setRenderThreads(1);
+        ProcessingService service = services.create(properties);
+        List<String> completed = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            completed.add(complete(service, csv("sensor_" + i)));
+        }
+        String stream = service.openStream("alice");
+        service.appendToStream(stream, new ByteArrayInputStream(
+                "1699920000000,sensor_live,temp,1\n".getBytes(StandardCharsets.UTF_8)), UploadJob.PayloadFormat.CSV);
+
+        List<String> ids = new ArrayList<>(completed);
+        ids.add(7, "missing");
+        ids.add(stream);
+        ids.add(completed.get(3)); // repeats are answered each time
+        JsonNode batch = batch(service, ids, List.of("temp"));
+
+        assertTrue(batch.get("success").asBoolean());
+        JsonNode data = batch.get("data");
+        assertEquals(ids.size(), data.size());
+        for (int i = 0; i < ids.size(); i++) {
+            assertEquals(ids.get(i), data.get(i).get("uploadId").asText());
+        }
+        assertEquals("UPLOAD_NOT_FOUND", data.get(7).get("errorCode").asText());
+        assertEquals("PROCESSING", data.get(21).get("status").asText());
+        assertEquals("sensor_live", data.get(21).get("statistics").get(0).get("deviceId").asText());
+        assertFalse(data.get(21).get("progress").isNull());
+
+        JsonNode single = MAPPER.readTree(bytes(service.getResultBody(completed.get(3), null, List.of("temp"))));
+        assertEquals(single.get("data"), data.get(3));
+        assertEquals(single.get("data"), data.get(22));
+        assertEquals(1, data.get(3).get("statistics").size());
+    }
+
+    @Test
+    void expiredUploadsAreReportedPerId() throws Exception {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setMaxRetainedBytes(DataSize.ofBytes(1));
+        ProcessingService service = services.create(properties);
+        String expired = complete(service, csv("sensor_1"));
+        String kept = complete(service, csv("sensor_2")); // evicts the first job for space
+
+        JsonNode data = batch(service, List.of(expired, kept), null).get("data");
+        assertEquals("UPLOAD_EXPIRED", data.get(0).get("errorCode").asText());
+        assertEquals("COMPLETED", data.get(1).get("status").asText());
+    }
+
+    @Test
+    void unfinishedElementMatchesTheMvcConverter() throws Exception {
+        ResultResponse response = new ResultResponse();
+        response.setUploadId("upload-1");
+        response.setStatus("PROCESSING");
+        response.setAcceptedCount(3);
+        response.setStatistics(List.of(new SeriesStatistics("sensor_1", "temp", 3, 1, 2.5, 1.75, 0.5)));
+        response.setStartTime(LocalDateTime.of(2026, 10, 17, 9, 30, 0, 120_000_000));
+        JobProgress progress = new JobProgress();
+        progress.setBytesProcessed(2048);
+        progress.setTotalBytes(4096);
+        progress.setPercentComplete(50.0);
+        progress.setRowsProcessed(3);
+        progress.setRowsPerSecond(1.5);
+        progress.setElapsedMs(2000);
+        progress.setEstimatedRemainingMs(2000L);
+        progress.setEstimatedCompletion(LocalDateTime.of(2026, 10, 17, 9, 30, 4));
+        response.setProgress(progress);
+
+        assertEquals(MAPPER.writeValueAsString(response),
+                new String(bytes(out -> ResultJson.writeData(response, out)), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void batchSizeIsBounded() {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setMaxBatchSize(3);
+        ProcessingService service = services.create(properties);
+
+        assertThrows(IllegalArgumentException.class, () -> service.getBatchResults(List.of(), null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.getBatchResults(Collections.nCopies(4, "id"), null, null));
+    }
+
+    private JsonNode batch(ProcessingService service, List<String> ids, List<String> channels) throws Exception {
+        return MAPPER.readTree(bytes(service.getBatchResults(ids, null, channels)));
+    }
+
+    private static byte[] bytes(ResultBody body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static String csv(String device) {
+        return CSV_HEADER
+                + "1699920000000," + device + ",temp,1.5\n"
+                + "1699920000001," + device + ",hum,40\n";
+    }
+}
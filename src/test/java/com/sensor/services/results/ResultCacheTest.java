@@ -0,0 +1,131 @@
+package com.sensor.services.results;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.response.ApiResponse;
+import com.sensor.dto.response.ResultResponse;
+import com.sensor.exception.UploadExpiredException;
+import com.sensor.services.implementations.ProcessingService;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static com.sensor.support.TestJobs.CSV_HEADER;
+import static com.sensor.support.TestJobs.complete;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultCacheTest {
+
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @Test
+    void renderedBodyMatchesTheMvcConverter() throws Exception {
+        ProcessingService service = services.create(new ProcessingProperties());
+        String uploadId = complete(service, csv(50));
+
+        RenderedResult rendered = (RenderedResult) service.getResultBody(uploadId, List.of("sensor_1*"), null);
+        ResultResponse expected = service.getResults(uploadId, List.of("sensor_1*"), null);
+        ApiResponse<ResultResponse> response = ApiResponse.success(expected, ResultJson.MESSAGE);
+        response.setTimestamp(expected.getEndTime());
+
+        // the same mapper configuration Spring MVC writes responses with
+        assertEquals(MAPPER.writeValueAsString(response), new String(rendered.getBody(), StandardCharsets.UTF_8));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(rendered.getGzipped()))) {
+            assertArrayEquals(rendered.getBody(), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    void completedResultsAreRenderedOncePerFilter() throws Exception {
+        ProcessingService service = services.create(new ProcessingProperties());
+        String uploadId = complete(service, csv(20));
+
+        ResultBody all = service.getResultBody(uploadId, null, null);
+        assertSame(all, service.getResultBody(uploadId, List.of(), List.of()));
+        ResultBody filtered = service.getResultBody(uploadId, List.of("sensor_2", "sensor_1"), null);
+        assertSame(filtered, service.getResultBody(uploadId, List.of("sensor_1", "sensor_2", "sensor_1"), null));
+        assertNotSame(all, filtered);
+
+        RenderedResult rendered = (RenderedResult) all;
+        assertTrue(rendered.matches(rendered.etag(false)));
+        assertTrue(rendered.matches("\"other\", W/" + rendered.etag(true)));
+        assertFalse(rendered.matches(((RenderedResult) filtered).etag(false)));
+
+        assertTrue(service.deleteJob(uploadId));
+        assertNull(service.getResultBody(uploadId, null, null));
+    }
+
+    @Test
+    void cacheStaysWithinItsBudget() {
+        RenderedResult rendered = new RenderedResult(new byte[100]);
+        ResultCache cache = new ResultCache(rendered.size() * 2);
+        cache.put("a", null, null, rendered);
+        cache.put("b", null, null, rendered);
+        assertSame(rendered, cache.get("a", null, null)); // a is now more recently used than b
+        cache.put("c", null, null, rendered);
+
+        assertEquals(rendered.size() * 2, cache.getBytes());
+        assertNull(cache.get("b", null, null));
+        assertSame(rendered, cache.get("c", null, null));
+        cache.invalidate("a");
+        assertEquals(rendered.size(), cache.getBytes());
+
+        cache.put("huge", null, null, new RenderedResult(new byte[(int) rendered.size() * 3]));
+        assertNull(cache.get("huge", null, null));
+    }
+
+    @Test
+    void invalidationDropsEveryFilterOfOneUpload() {
+        RenderedResult rendered = new RenderedResult(new byte[100]);
+        ResultCache cache = new ResultCache(rendered.size() * 4);
+        cache.put("a", null, null, rendered);
+        cache.put("a", List.of("sensor_1"), null, rendered);
+        cache.put("b", null, null, rendered);
+        cache.put("a", null, List.of("temp"), rendered);
+        cache.put("c", null, null, rendered); // evicts a's unfiltered body
+
+        cache.invalidate("a");
+        assertNull(cache.get("a", List.of("sensor_1"), null));
+        assertNull(cache.get("a", null, List.of("temp")));
+        assertSame(rendered, cache.get("b", null, null));
+        assertEquals(rendered.size() * 2, cache.getBytes());
+        cache.invalidate("a");
+        assertEquals(rendered.size() * 2, cache.getBytes());
+    }
+
+    @Test
+    void expiredJobsAreNotServedFromTheCache() throws Exception {
+        ProcessingProperties properties = new ProcessingProperties();
+        properties.setMaxRetainedBytes(org.springframework.util.unit.DataSize.ofBytes(1));
+        ProcessingService service = services.create(properties);
+        String first = complete(service, csv(5));
+        service.getResultBody(first, null, null);
+        complete(service, csv(5)); // evicts the first job for space
+
+        assertThrows(UploadExpiredException.class, () -> service.getResultBody(first, null, null));
+    }
+
+    private static String csv(int devices) {
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (int i = 0; i < 2000; i++) {
+            csv.append(1699920000000L + i).append(",sensor_").append(i % devices).append(",ch_").append(i % 3)
+                    .append(',').append(Math.sin(i) * 10).append('\n');
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,113 @@
+package com.sensor.services.results;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.dto.response.ApiResponse;
+import com.sensor.services.implementations.ProcessingService;
+import com.sensor.support.ProcessingServices;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static com.sensor.support.TestJobs.CSV_HEADER;
+import static com.sensor.support.TestJobs.complete;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Results over the streaming threshold are written straight from the result index
+ */
+class ResultStreamingTest {
+
+    @RegisterExtension
+    final ProcessingServices services = new ProcessingServices();
+
+    @Test
+    void streamedBodyMatchesTheRenderedBody() throws Exception {
+        ProcessingProperties properties = new ProcessingProperties();
+        ProcessingService service = services.create(properties);
+        String uploadId = complete(service, csv(200, 4));
+
+        for (List<String> channels : List.of(List.<String>of(), List.of("ch_1", "ch_3"))) {
+            properties.setStreamResultsThreshold(1);
+            ResultBody streamed = service.getResultBody(uploadId, null, channels);
+            assertFalse(streamed instanceof RenderedResult);
+            properties.setStreamResultsThreshold(Integer.MAX_VALUE);
+            ResultBody rendered = service.getResultBody(uploadId, null, channels);
+            assertInstanceOf(RenderedResult.class, rendered);
+
+            assertArrayEquals(bytes(rendered), bytes(streamed));
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    void heapAndLatencyFor100kSeries() throws Exception {
+        ProcessingService service = services.create(new ProcessingProperties());
+        String uploadId = complete(service, csv(10_000, 10));
+        JsonMapper mapper = JsonMapper.builder().build();
+
+        for (int round = 0; round < 20; round++) {
+            boolean report = round >= 17; // earlier rounds warm up
+            measure("materialized", report, out -> mapper.writeValue(out,
+                    ApiResponse.success(service.getResults(uploadId, null, null), ResultJson.MESSAGE)));
+            measure("streamed", report, out -> service.getResultBody(uploadId, null, null).writeTo(out));
+        }
+    }
+
+    private void measure(String label, boolean report, ResultBody request) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        FirstByteStream out = new FirstByteStream();
+        long start = System.nanoTime();
+        request.writeTo(out);
+        long end = System.nanoTime();
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        if (report) {
+            System.out.printf("%-12s %6.1f MB allocated  first byte %6.1f ms  total %6.1f ms  body %5.1f MB%n",
+                    label, allocated / 1e6, (out.firstByteAt - start) / 1e6, (end - start) / 1e6, out.bytes / 1e6);
+        }
+    }
+
+    private static byte[] bytes(ResultBody body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toByteArray();
+    }
+
+    private static String csv(int devices, int channels) {
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (int device = 0; device < devices; device++) {
+            for (int channel = 0; channel < channels; channel++) {
+                csv.append(1699920000000L + device).append(",sensor_").append(device).append(",ch_").append(channel)
+                        .append(',').append(device * 0.5 + channel).append('\n');
+            }
+        }
+        return csv.toString();
+    }
+
+    /**
+     * Discards what is written, noting when the first byte arrived
+     */
+    private static final class FirstByteStream extends OutputStream {
+        long firstByteAt;
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (bytes == 0 && len > 0) firstByteAt = System.nanoTime();
+            bytes += len;
+        }
+    }
+}
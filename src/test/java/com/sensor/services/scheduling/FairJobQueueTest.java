@@ -0,0 +1,67 @@
+package com.sensor.services.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FairJobQueueTest {
+
+    private static final long MB = 1024 * 1024;
+
+    @Test
+    void smallUploadsOfALightUserAreNotStuckBehindAHeavyBacklog() {
+        FairJobQueue queue = new FairJobQueue(MB, Map.of());
+        for (int i = 0; i < 20; i++) queue.add(job("heavy", 100 * MB));
+        for (int i = 0; i < 3; i++) queue.add(job("light", 5 * 1024));
+
+        List<String> order = drain(queue);
+
+        assertEquals(23, order.size());
+        // the light user's uploads all run before the heavy user's second one
+        assertEquals(List.of("light", "light", "light"), order.subList(0, 3));
+        assertEquals("heavy", order.get(3));
+    }
+
+    @Test
+    void weightsShareBytesProportionally() {
+        FairJobQueue queue = new FairJobQueue(MB, Map.of("gold", 3));
+        for (int i = 0; i < 40; i++) {
+            queue.add(job("gold", MB));
+            queue.add(job("basic", MB));
+        }
+
+        List<String> firstRounds = drain(queue).subList(0, 20);
+
+        assertEquals(15, firstRounds.stream().filter("gold"::equals).count());
+        assertEquals(5, firstRounds.stream().filter("basic"::equals).count());
+    }
+
+    @Test
+    void ownerKeepsSubmissionOrder() {
+        FairJobQueue queue = new FairJobQueue(MB, Map.of());
+        QueuedJob first = job("alice", 3 * MB);
+        QueuedJob second = job("alice", 1024);
+        queue.add(first);
+        queue.add(second);
+
+        assertEquals(first, queue.poll());
+        assertEquals(second, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    private List<String> drain(JobQueue queue) {
+        List<String> owners = new ArrayList<>();
+        QueuedJob job;
+        while ((job = queue.poll()) != null) owners.add(job.getOwner());
+        return owners;
+    }
+
+    private QueuedJob job(String owner, long sizeBytes) {
+        return new QueuedJob(owner, sizeBytes, System.nanoTime(), () -> { });
+    }
+}
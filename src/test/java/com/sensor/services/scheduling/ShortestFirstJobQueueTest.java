@@ -0,0 +1,48 @@
+package com.sensor.services.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ShortestFirstJobQueueTest {
+
+    private static final long MB = 1024 * 1024;
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void smallerJobsRunFirstAndTiesKeepSubmissionOrder() {
+        ShortestFirstJobQueue queue = new ShortestFirstJobQueue(10 * MB);
+        QueuedJob large = job(100 * MB, 0);
+        QueuedJob small = job(5 * 1024, 0);
+        QueuedJob sameSize = job(5 * 1024, 0);
+        queue.add(large);
+        queue.add(small);
+        queue.add(sameSize);
+
+        assertEquals(small, queue.poll());
+        assertEquals(sameSize, queue.poll());
+        assertEquals(large, queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    void agingBoundsHowLongALargeJobCanBeOvertaken() {
+        ShortestFirstJobQueue queue = new ShortestFirstJobQueue(10 * MB);
+        QueuedJob large = job(100 * MB, 0);
+        QueuedJob soonAfter = job(1024, 5 * SECOND);
+        QueuedJob muchLater = job(1024, 20 * SECOND);
+        queue.add(large);
+        queue.add(soonAfter);
+        queue.add(muchLater);
+
+        // 100 MB at 10 MB/s of aging: only jobs arriving within 10 s may pass it
+        assertEquals(soonAfter, queue.poll());
+        assertEquals(large, queue.poll());
+        assertEquals(muchLater, queue.poll());
+    }
+
+    private QueuedJob job(long sizeBytes, long enqueuedNanos) {
+        return new QueuedJob("alice", sizeBytes, enqueuedNanos, () -> { });
+    }
+}
@@ -0,0 +1,35 @@
+package com.sensor.support;
+
+import com.sensor.config.ProcessingProperties;
+import com.sensor.services.implementations.ProcessingService;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates processing services for a test and shuts their threads down after each test method.
+ * Register as an instance field with {@code @RegisterExtension}.
+ */
+public class ProcessingServices implements AfterEachCallback {
+
+    private final List<ProcessingService> created = new ArrayList<>();
+
+    public ProcessingService create(ProcessingProperties properties) {
+        return create(properties, Clock.systemDefaultZone());
+    }
+
+    public ProcessingService create(ProcessingProperties properties, Clock clock) {
+        ProcessingService service = new ProcessingService(properties, clock);
+        created.add(service);
+        return service;
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        created.forEach(ProcessingService::shutdown);
+        created.clear();
+    }
+}
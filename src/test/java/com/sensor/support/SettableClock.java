@@ -0,0 +1,43 @@
+package com.sensor.support;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * A clock that only moves when a test advances it
+ */
+public final class SettableClock extends Clock {
+    private final ZoneId zone;
+    private volatile Instant now;
+
+    public SettableClock(Instant now) {
+        this(now, ZoneOffset.UTC);
+    }
+
+    public SettableClock(Instant now, ZoneId zone) {
+        this.now = now;
+        this.zone = zone;
+    }
+
+    public void advance(Duration duration) {
+        now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new SettableClock(now, zone);
+    }
+
+    @Override
+    public Instant instant() {
+        return now;
+    }
+}
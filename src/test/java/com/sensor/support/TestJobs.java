@@ -0,0 +1,146 @@
+package com.sensor.support;
+
+import com.sensor.dto.response.ResultResponse;
+import com.sensor.services.implementations.ProcessingService;
+
+import java.io.ByteArrayInputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Submits uploads and waits for job states in service-level tests. Every wait polls with a
+ * deadline and fails the test with an {@link AssertionError} naming what it waited for.
+ */
+public final class TestJobs {
+
+    public static final String CSV_HEADER = "timestamp_ms,device_id,channel,value\n";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final Set<String> FINAL = Set.of("COMPLETED", "FAILED", "CANCELLED");
+    // a selector no series matches, so polling a large completed job stays cheap
+    private static final List<String> NO_SERIES = List.of("-");
+
+    private TestJobs() {}
+
+    /**
+     * Submit a CSV upload (header included) with its size
+     */
+    public static String submit(ProcessingService service, String csv) throws Exception {
+        byte[] payload = csv.getBytes(StandardCharsets.UTF_8);
+        return service.submitUpload(new ByteArrayInputStream(payload), payload.length);
+    }
+
+    /**
+     * Submit a CSV upload (header included) and wait until it has completed and its worker is
+     * released, by which time the job is also merged into the rollups and the registry indexes
+     */
+    public static String complete(ProcessingService service, String csv) throws Exception {
+        long busy = service.getSystemStatus().getActiveWorkers();
+        String uploadId = submit(service, csv);
+        awaitCompleted(service, uploadId);
+        // the upload call returns once the body is read, so the worker may still be retiring the job
+        await("the worker of upload " + uploadId + " to be released",
+                () -> service.getSystemStatus().getActiveWorkers() <= busy);
+        return uploadId;
+    }
+
+    /**
+     * Wait until the job has completed; fails when it ends in another status
+     */
+    public static void awaitCompleted(ProcessingService service, String uploadId) throws InterruptedException {
+        String status = awaitFinished(service, uploadId).getStatus();
+        if (!"COMPLETED".equals(status)) {
+            throw new AssertionError("upload " + uploadId + " ended " + status);
+        }
+    }
+
+    /**
+     * Wait until the job reaches a final status and return its full results
+     */
+    public static ResultResponse awaitFinished(ProcessingService service, String uploadId) throws InterruptedException {
+        return awaitFinished(service, uploadId, TIMEOUT);
+    }
+
+    public static ResultResponse awaitFinished(ProcessingService service, String uploadId, Duration timeout)
+            throws InterruptedException {
+        await("upload " + uploadId + " to finish", timeout,
+                () -> FINAL.contains(service.getResults(uploadId, NO_SERIES, null).getStatus()));
+        return service.getResults(uploadId, null, null);
+    }
+
+    /**
+     * Wait until some job is processing; returns its upload ID
+     */
+    public static String awaitRunningJob(ProcessingService service) throws InterruptedException {
+        String[] running = new String[1];
+        await("an upload to start", () -> {
+            List<Map<String, Object>> processing = service.listJobs("PROCESSING");
+            if (processing.isEmpty()) return false;
+            running[0] = (String) processing.get(0).get("uploadId");
+            return true;
+        });
+        return running[0];
+    }
+
+    /**
+     * Occupy one worker with an upload that is still arriving, so later uploads queue.
+     * Closing the returned stream lets it complete.
+     */
+    public static PipedOutputStream holdWorker(ProcessingService service) throws Exception {
+        int busy = (int) service.getSystemStatus().getActiveWorkers();
+        PipedOutputStream gate = new PipedOutputStream();
+        PipedInputStream body = new PipedInputStream(gate);
+        CompletableFuture.runAsync(() -> {
+            try {
+                service.submitUpload(body, -1);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        awaitActiveWorkers(service, busy + 1);
+        return gate;
+    }
+
+    /**
+     * Wait until no upload is waiting for a worker
+     */
+    public static void awaitQueueDrained(ProcessingService service) throws InterruptedException {
+        await("the upload queue to drain", () -> service.getSystemStatus().getQueuedJobs() == 0);
+    }
+
+    /**
+     * Wait until no worker is busy. A worker is released only once its job is retired, so
+     * completed jobs are then also in the rollups and registry indexes.
+     */
+    public static void awaitWorkersIdle(ProcessingService service) throws InterruptedException {
+        await("all workers to be released", () -> service.getSystemStatus().getActiveWorkers() == 0);
+    }
+
+    /**
+     * Wait until at least this many workers are busy, e.g. held by an upload that is still arriving
+     */
+    public static void awaitActiveWorkers(ProcessingService service, int workers) throws InterruptedException {
+        await(workers + " busy workers", () -> service.getSystemStatus().getActiveWorkers() >= workers);
+    }
+
+    public static void await(String what, BooleanSupplier condition) throws InterruptedException {
+        await(what, TIMEOUT, condition);
+    }
+
+    public static void await(String what, Duration timeout, BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("timed out waiting for " + what);
+            }
+            Thread.sleep(5);
+        }
+    }
+}